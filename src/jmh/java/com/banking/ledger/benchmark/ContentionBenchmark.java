@@ -0,0 +1,157 @@
+package com.banking.ledger.benchmark;
+
+import com.banking.ledger.LedgerServiceApplication;
+import com.banking.ledger.grpc.PostTransactionRequest;
+import com.banking.ledger.service.PostingMode;
+import com.banking.ledger.service.PostingService;
+import com.banking.ledger.service.TransientFailureRetrier;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch postings from many threads against a few hot accounts in PostgreSQL,
+ * once per {@link PostingMode}. The service runs in a full application
+ * context on an embedded database started for the trial.
+ *
+ * Batches go straight to {@link PostingService#postBatch}, without the
+ * in-process account sequencer or the retrier, so every conflict reaches the
+ * database. The primary score is attempted batches per second; the secondary
+ * {@code committed} and {@code aborted} scores split it into batches that
+ * committed (TPS is that times batchSize) and batches that lost a concurrency
+ * race. The abort rate is aborted / (committed + aborted).
+ *
+ * mvn -P benchmark test-compile exec:exec -Djmh.args="Contention"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class ContentionBenchmark {
+
+    @Param({ "serializable", "locking" })
+    public String mode;
+
+    @Param({ "4" })
+    public int hotAccounts;
+
+    @Param({ "10" })
+    public int batchSize;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private PostingService postingService;
+    private List<String> accountIds;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        context = new SpringApplicationBuilder(LedgerServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                // Arguments, since plain properties would lose to application.yml
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres")
+                                + "&reWriteBatchedInserts=true",
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        "--spring.r2dbc.url=r2dbc:postgresql://localhost:" + postgres.getPort() + "/postgres",
+                        "--spring.r2dbc.username=postgres",
+                        "--spring.r2dbc.password=",
+                        "--grpc.server.port=0",
+                        "--ledger.posting.mode=" + mode,
+                        // No broker here: leave outbox events unsent instead of retrying every poll
+                        "--ledger.outbox.relay.poll-interval=1h");
+        postingService = context.getBean(PostingService.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        accountIds = new ArrayList<>(hotAccounts);
+        for (int i = 0; i < hotAccounts; i++) {
+            UUID id = UUID.randomUUID();
+            // Enough that no account runs dry during the trial
+            jdbcTemplate.update("INSERT INTO accounts (id, user_id, currency, balance) VALUES (?, ?, 'USD', ?)",
+                    id, UUID.randomUUID(), new BigDecimal("1000000000000.0000"));
+            accountIds.add(id.toString());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    /**
+     * Outcomes of this thread's batches, reported per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+
+        public long committed;
+        public long aborted;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            committed = 0;
+            aborted = 0;
+        }
+    }
+
+    @Benchmark
+    public void postBatch(Outcomes outcomes) {
+        try {
+            postingService.postBatch(batch());
+            outcomes.committed++;
+        } catch (RuntimeException e) {
+            if (!TransientFailureRetrier.isTransient(e)) {
+                throw e;
+            }
+            outcomes.aborted++;
+        }
+    }
+
+    private List<PostTransactionRequest> batch() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<PostTransactionRequest> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            int from = random.nextInt(hotAccounts);
+            int to = (from + 1 + random.nextInt(hotAccounts - 1)) % hotAccounts;
+            batch.add(PostTransactionRequest.newBuilder()
+                    .setFromAccountId(accountIds.get(from))
+                    .setToAccountId(accountIds.get(to))
+                    .setAmount("1.00")
+                    .setCurrency("USD")
+                    .setReferenceId(UUID.randomUUID().toString())
+                    .setType("TRANSFER")
+                    .build());
+        }
+        return batch;
+    }
+}
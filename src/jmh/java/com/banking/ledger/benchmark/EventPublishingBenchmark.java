@@ -0,0 +1,61 @@
+package com.banking.ledger.benchmark;
+
+import com.banking.ledger.domain.event.LedgerTransactionPostedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building a posted-transaction event and serializing it to the JSON written
+ * to the outbox, as done once per posting inside the database transaction.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventPublishingBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UUID transactionId = UUID.randomUUID();
+    private final UUID fromAccountId = UUID.randomUUID();
+    private final UUID toAccountId = UUID.randomUUID();
+    private final BigDecimal amount = new BigDecimal("1250.7500");
+
+    @Benchmark
+    public LedgerTransactionPostedEvent buildEvent() {
+        return event();
+    }
+
+    @Benchmark
+    public String buildAndSerializeEvent() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(event());
+    }
+
+    private LedgerTransactionPostedEvent event() {
+        return LedgerTransactionPostedEvent.builder()
+                .transactionId(transactionId)
+                .referenceId("payment-2024-000184467")
+                .type("TRANSFER")
+                .status("POSTED")
+                .fromAccountId(fromAccountId)
+                .toAccountId(toAccountId)
+                .amount(amount)
+                .currency("USD")
+                .metadata("{\"channel\":\"mobile\"}")
+                .build();
+    }
+}
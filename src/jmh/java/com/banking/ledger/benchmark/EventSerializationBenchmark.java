@@ -0,0 +1,79 @@
+package com.banking.ledger.benchmark;
+
+import com.banking.ledger.config.ProtobufEventSerializer;
+import com.banking.ledger.domain.event.LedgerTransactionPostedEvent;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of a posted-transaction event in the two Kafka value
+ * encodings. Both serializers are called the way the producer calls them,
+ * with record headers, so JSON type headers are included in the cost.
+ * Bytes per event for each format are printed once per trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    private static final String TOPIC = "banking.ledger.posted";
+
+    private JsonSerializer<Object> json;
+    private ProtobufEventSerializer protobuf;
+    private LedgerTransactionPostedEvent event;
+
+    @Setup
+    public void setUp() {
+        json = new JsonSerializer<>();
+        protobuf = new ProtobufEventSerializer();
+        event = LedgerTransactionPostedEvent.builder()
+                .transactionId(UUID.randomUUID())
+                .referenceId("payment-2024-000184467")
+                .type("TRANSFER")
+                .status("POSTED")
+                .fromAccountId(UUID.randomUUID())
+                .toAccountId(UUID.randomUUID())
+                .amount(new BigDecimal("1250.7500"))
+                .currency("USD")
+                .metadata("{\"channel\":\"mobile\"}")
+                .build();
+
+        System.out.printf("%nbytes/event: json=%d protobuf=%d%n",
+                json.serialize(TOPIC, new RecordHeaders(), event).length,
+                protobuf.serialize(TOPIC, new RecordHeaders(), event).length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        json.close();
+        protobuf.close();
+    }
+
+    @Benchmark
+    public byte[] json() {
+        return json.serialize(TOPIC, new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public byte[] protobuf() {
+        return protobuf.serialize(TOPIC, new RecordHeaders(), event);
+    }
+}
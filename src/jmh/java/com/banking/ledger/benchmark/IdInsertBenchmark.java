@@ -0,0 +1,101 @@
+package com.banking.ledger.benchmark;
+
+import com.banking.ledger.domain.model.IdGenerator;
+import com.banking.ledger.domain.model.UuidV7Generator;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput into a ledger_entries-shaped table keyed by random UUIDv4
+ * versus time-ordered UUIDv7 primary keys, on an embedded PostgreSQL.
+ *
+ * The table is preloaded so its primary key index is several times larger
+ * than shared_buffers. Random keys then land on a different cold leaf page
+ * per row, while UUIDv7 keys keep appending to the same rightmost leaf. Run
+ * with {@code -Djmh.args="IdInsert"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IdInsertBenchmark {
+
+    private static final int PRELOADED_ROWS = 1_000_000;
+    private static final int BATCH_SIZE = 500;
+    private static final BigDecimal AMOUNT = new BigDecimal("10.0000");
+
+    @Param({ "random", "uuidv7" })
+    public String generator;
+
+    private IdGenerator ids;
+    private EmbeddedPostgres postgres;
+    private Connection connection;
+    private PreparedStatement insert;
+    private final UUID accountId = UUID.randomUUID();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ids = "uuidv7".equals(generator) ? new UuidV7Generator() : IdGenerator.RANDOM;
+        postgres = EmbeddedPostgres.builder()
+                .setServerConfig("shared_buffers", "16MB")
+                .start();
+        connection = postgres.getDatabase("postgres", "postgres").getConnection();
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("""
+                    CREATE TABLE entries (
+                        id UUID PRIMARY KEY,
+                        account_id UUID NOT NULL,
+                        amount NUMERIC(19, 4) NOT NULL,
+                        created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+                    )""");
+        }
+        insert = connection.prepareStatement("INSERT INTO entries (id, account_id, amount) VALUES (?, ?, ?)");
+        for (int loaded = 0; loaded < PRELOADED_ROWS; loaded += BATCH_SIZE) {
+            insertBatch();
+        }
+        try (Statement analyze = connection.createStatement()) {
+            analyze.execute("VACUUM ANALYZE entries");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        connection.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, ids.next());
+            insert.setObject(2, accountId);
+            insert.setBigDecimal(3, AMOUNT);
+            insert.addBatch();
+        }
+        return insert.executeBatch();
+    }
+}
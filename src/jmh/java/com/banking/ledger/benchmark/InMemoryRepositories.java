@@ -0,0 +1,71 @@
+package com.banking.ledger.benchmark;
+
+import com.banking.ledger.domain.model.Account;
+import com.banking.ledger.domain.model.Transaction;
+import com.banking.ledger.domain.repository.AccountRepository;
+import com.banking.ledger.domain.repository.TransactionRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Map-backed stand-ins for the Spring Data repositories, so the posting code
+ * can be measured without a database or mocking framework on the hot path.
+ * Only the methods the posting path calls are implemented.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    static AccountRepository accounts(Map<UUID, Account> accounts) {
+        return repository(AccountRepository.class, (name, args) -> switch (name) {
+            case "findById" -> Optional.ofNullable(accounts.get((UUID) args[0]));
+            case "findAllById" -> {
+                List<Account> found = new ArrayList<>();
+                for (Object id : (Iterable<?>) args[0]) {
+                    Account account = accounts.get((UUID) id);
+                    if (account != null) {
+                        found.add(account);
+                    }
+                }
+                yield found;
+            }
+            case "save" -> args[0];
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    static TransactionRepository transactions() {
+        return repository(TransactionRepository.class, (name, args) -> switch (name) {
+            case "findExistingReferenceIds" -> List.of();
+            case "save", "saveAndFlush" -> {
+                ((Transaction) args[0]).prePersist();
+                yield args[0];
+            }
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    private interface Handler {
+        Object invoke(String method, Object[] args);
+    }
+
+    private static <T> T repository(Class<T> type, Handler handler) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (self, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> self == args[0];
+                    case "hashCode" -> System.identityHashCode(self);
+                    default -> type.getSimpleName() + "(in-memory)";
+                };
+            }
+            return handler.invoke(method.getName(), args);
+        });
+        return type.cast(proxy);
+    }
+}
@@ -0,0 +1,54 @@
+package com.banking.ledger.benchmark;
+
+import com.banking.ledger.validation.InputValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request input validation on the posting path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InputValidationBenchmark {
+
+    private final String amount = "1250.7500";
+    private final String uuid = UUID.randomUUID().toString();
+    private final String referenceId = "payment-2024-000184467";
+    private final String metadata = "{\"channel\":\"mobile\",\"device\":\"ios\",\"note\":\"rent for march\"}";
+
+    @Benchmark
+    public BigDecimal validateAmount() {
+        return InputValidator.validateAmount(amount);
+    }
+
+    @Benchmark
+    public UUID validateUUID() {
+        return InputValidator.validateUUID(uuid, "account_id");
+    }
+
+    @Benchmark
+    public String validateReferenceId() {
+        InputValidator.validateReferenceId(referenceId);
+        return referenceId;
+    }
+
+    @Benchmark
+    public String sanitizeMetadata() {
+        return InputValidator.sanitizeMetadata(metadata);
+    }
+}
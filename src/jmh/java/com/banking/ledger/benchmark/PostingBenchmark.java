@@ -0,0 +1,184 @@
+package com.banking.ledger.benchmark;
+
+import com.banking.ledger.domain.event.OutboxEvent;
+import com.banking.ledger.domain.model.Account;
+import com.banking.ledger.domain.model.LedgerEntry;
+import com.banking.ledger.domain.model.Transaction;
+import com.banking.ledger.domain.repository.LedgerJdbcRepository;
+import com.banking.ledger.domain.repository.OutboxRepository;
+import com.banking.ledger.domain.repository.ReadRoutingConnectionFactory;
+import com.banking.ledger.grpc.PostTransactionRequest;
+import com.banking.ledger.grpc.TransactionResponse;
+import com.banking.ledger.service.BalanceCache;
+import com.banking.ledger.service.LedgerEventPublisher;
+import com.banking.ledger.service.OutboxWriter;
+import com.banking.ledger.service.PostingCommand;
+import com.banking.ledger.service.PostingMode;
+import com.banking.ledger.service.PostingService;
+import com.banking.ledger.service.ReferenceFilter;
+import com.banking.ledger.service.ReplicaLagMonitor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The posting unit of work in memory: validation, account checks, balance
+ * updates, ledger entry creation, event serialization into the outbox buffer
+ * and the balance cache update. Repositories are map-backed and the JDBC
+ * writers discard rows, so only the Java side of the hot path is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostingBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    // There is no database to begin a transaction on; postBatch still goes through its template
+    private static final PlatformTransactionManager NO_TRANSACTION = new PlatformTransactionManager() {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    };
+
+    private PostingService postingService;
+    private PostTransactionRequest transfer;
+    private List<PostTransactionRequest> batch;
+
+    @Setup
+    public void setUp() {
+        Map<UUID, Account> accounts = new HashMap<>();
+        Account from = account(accounts);
+        Account to = account(accounts);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OutboxRepository outboxRepository = new OutboxRepository(null) {
+            @Override
+            public void insert(List<OutboxEvent> events) {
+            }
+        };
+        LedgerJdbcRepository ledgerJdbcRepository = new LedgerJdbcRepository(null) {
+            @Override
+            public void insertTransactions(List<Transaction> transactions) {
+            }
+
+            @Override
+            public void insertLedgerEntries(List<LedgerEntry> entries) {
+            }
+
+            @Override
+            public Optional<Account> debit(UUID accountId, String currency, BigDecimal amount) {
+                Account account = accounts.get(accountId);
+                if (account == null || account.getBalance().compareTo(amount) < 0) {
+                    return Optional.empty();
+                }
+                account.setBalance(account.getBalance().subtract(amount));
+                return Optional.of(account);
+            }
+
+            @Override
+            public Optional<Account> credit(UUID accountId, String currency, BigDecimal amount) {
+                Account account = accounts.get(accountId);
+                if (account == null) {
+                    return Optional.empty();
+                }
+                account.setBalance(account.getBalance().add(amount));
+                return Optional.of(account);
+            }
+        };
+        postingService = new PostingService(
+                InMemoryRepositories.accounts(accounts),
+                InMemoryRepositories.transactions(),
+                ledgerJdbcRepository,
+                new LedgerEventPublisher(new OutboxWriter(outboxRepository, new ObjectMapper()),
+                        registry.counter("success"), registry.counter("created")),
+                new BalanceCache(true, 1000, Duration.ofMinutes(1), registry.counter("hit"),
+                        registry.counter("miss")),
+                new ReferenceFilter(ledgerJdbcRepository, false, Duration.ofHours(24), 4, 0, 0.001, 0,
+                        registry.counter("filter-negative"), registry.counter("filter-false-positive")),
+                NO_TRANSACTION,
+                PostingMode.SERIALIZABLE,
+                // No replicas: postings do not read their commit LSN
+                new ReplicaLagMonitor(new ReadRoutingConnectionFactory(
+                        ConnectionFactories.get("r2dbc:postgresql://ledger@localhost/unused"), Map.of()),
+                        Duration.ofSeconds(5), Duration.ofSeconds(1), registry.counter("replica-reads"),
+                        registry.counter("primary-reads")),
+                Duration.ofSeconds(30));
+
+        transfer = request(from, to, "bench-single");
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(request(from, to, "bench-batch-" + i));
+        }
+    }
+
+    @Benchmark
+    public Transaction postTransfer() {
+        return postingService.post(PostingCommand.from(transfer));
+    }
+
+    @Benchmark
+    public List<TransactionResponse> postBatch() {
+        return postingService.postBatch(batch);
+    }
+
+    private static Account account(Map<UUID, Account> accounts) {
+        Account account = Account.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .currency("USD")
+                // Enough that the benchmark never runs the source dry
+                .balance(new BigDecimal("1000000000000000.0000"))
+                .version(0L)
+                .build();
+        accounts.put(account.getId(), account);
+        return account;
+    }
+
+    private static PostTransactionRequest request(Account from, Account to, String referenceId) {
+        return PostTransactionRequest.newBuilder()
+                .setFromAccountId(from.getId().toString())
+                .setToAccountId(to.getId().toString())
+                .setAmount("1.00")
+                .setCurrency("USD")
+                .setReferenceId(referenceId)
+                .setType("TRANSFER")
+                .build();
+    }
+}
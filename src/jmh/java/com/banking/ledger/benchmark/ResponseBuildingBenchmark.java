@@ -0,0 +1,75 @@
+package com.banking.ledger.benchmark;
+
+import com.banking.ledger.domain.model.LedgerEntry;
+import com.banking.ledger.domain.model.Transaction;
+import com.banking.ledger.domain.repository.LedgerHistoryRow;
+import com.banking.ledger.grpc.TransactionHistoryResponse;
+import com.banking.ledger.grpc.TransactionResponse;
+import com.banking.ledger.service.TransactionSummaries;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Protobuf response construction: one posting result, and a full 100-row
+ * history page as rendered by GetTransactionHistory.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseBuildingBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private UUID transactionId;
+    private List<LedgerHistoryRow> page;
+
+    @Setup
+    public void setUp() {
+        transactionId = UUID.randomUUID();
+        UUID accountId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(new LedgerHistoryRow(UUID.randomUUID(), accountId, UUID.randomUUID(), "ref-" + i,
+                    Transaction.TransactionType.TRANSFER, Transaction.TransactionStatus.POSTED,
+                    new BigDecimal("-25.5000"), LedgerEntry.EntryDirection.DEBIT, new BigDecimal("974.5000"),
+                    now.minusMinutes(i)));
+        }
+    }
+
+    @Benchmark
+    public TransactionResponse transactionResponse() {
+        return TransactionResponse.newBuilder()
+                .setTransactionId(transactionId.toString())
+                .setStatus(Transaction.TransactionStatus.POSTED.name())
+                .setMessage("Transaction completed successfully")
+                .build();
+    }
+
+    @Benchmark
+    public TransactionHistoryResponse historyPage() {
+        TransactionHistoryResponse.Builder builder = TransactionHistoryResponse.newBuilder();
+        for (LedgerHistoryRow row : page) {
+            builder.addTransactions(TransactionSummaries.of(row));
+        }
+        return builder.build();
+    }
+}
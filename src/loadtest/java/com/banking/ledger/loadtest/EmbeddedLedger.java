@@ -0,0 +1,65 @@
+package com.banking.ledger.loadtest;
+
+import com.banking.ledger.LedgerServiceApplication;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+/**
+ * Runs the ledger service in-process against an embedded PostgreSQL, so a
+ * load test needs nothing installed locally. Kafka is not started; events
+ * accumulate in the outbox and the relay logs failed rounds.
+ */
+final class EmbeddedLedger implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+    private final int grpcPort;
+
+    private EmbeddedLedger(EmbeddedPostgres postgres, ConfigurableApplicationContext context, int grpcPort) {
+        this.postgres = postgres;
+        this.context = context;
+        this.grpcPort = grpcPort;
+    }
+
+    static EmbeddedLedger start() throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+        int grpcPort = freePort();
+        String jdbcUrl = postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true";
+        SpringApplication application = new SpringApplication(LedgerServiceApplication.class);
+        // Without actuator nothing provides a registry; the report comes from the client side anyway
+        application.addInitializers(ctx -> ctx.getBeanFactory()
+                .registerSingleton("meterRegistry", new SimpleMeterRegistry()));
+        ConfigurableApplicationContext context = application.run(
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=",
+                "--grpc.server.port=" + grpcPort,
+                "--server.port=0",
+                // Their ordering hints name actuator classes, which are not on the classpath
+                "--spring.autoconfigure.exclude="
+                        + "net.devh.boot.grpc.server.autoconfigure.GrpcServerMetricAutoConfiguration,"
+                        + "net.devh.boot.grpc.client.autoconfigure.GrpcClientMetricAutoConfiguration");
+        return new EmbeddedLedger(postgres, context, grpcPort);
+    }
+
+    int grpcPort() {
+        return grpcPort;
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
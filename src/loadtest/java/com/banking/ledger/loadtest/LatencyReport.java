@@ -0,0 +1,88 @@
+package com.banking.ledger.loadtest;
+
+import io.grpc.Status;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms and outcome counts. Latency is measured
+ * from the time a request was scheduled to start, not when it was sent, so
+ * queueing in the client or server is not hidden (coordinated omission).
+ */
+final class LatencyReport {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<Status.Code, LongAdder>> outcomes = new EnumMap<>(Operation.class);
+    private final LongAdder dropped = new LongAdder();
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(MAX_TRACKABLE_NANOS, 3));
+            outcomes.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, Status.Code code) {
+        recorders.get(operation).recordValue(Math.min(latencyNanos, MAX_TRACKABLE_NANOS));
+        outcomes.get(operation).computeIfAbsent(code, c -> new LongAdder()).increment();
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    /**
+     * Discards everything recorded so far, e.g. at the end of warmup.
+     */
+    void reset() {
+        recorders.values().forEach(Recorder::getIntervalHistogram);
+        outcomes.values().forEach(Map::clear);
+        dropped.reset();
+    }
+
+    Map<Operation, Histogram> snapshot() {
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+        return histograms;
+    }
+
+    void print(Map<Operation, Histogram> histograms, double seconds, PrintStream out) {
+        out.printf("%-11s %9s %9s %9s %9s %9s %9s %9s  %s%n",
+                "operation", "count", "ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "outcomes");
+        long total = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            long count = histogram.getTotalCount();
+            if (count == 0) {
+                continue;
+            }
+            total += count;
+            Map<Status.Code, Long> codes = new TreeMap<>();
+            outcomes.get(operation).forEach((code, adder) -> codes.put(code, adder.sum()));
+            out.printf("%-11s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                    operation.key(), count, count / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()),
+                    codes);
+        }
+        out.printf("total %d requests, %.1f ops/s, %d dropped (client in-flight limit)%n",
+                total, total / seconds, dropped.sum());
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
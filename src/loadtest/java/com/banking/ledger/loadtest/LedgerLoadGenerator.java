@@ -0,0 +1,237 @@
+package com.banking.ledger.loadtest;
+
+import com.banking.ledger.grpc.CreateAccountRequest;
+import com.banking.ledger.grpc.GetBalanceRequest;
+import com.banking.ledger.grpc.GetHistoryRequest;
+import com.banking.ledger.grpc.LedgerServiceGrpc;
+import com.banking.ledger.grpc.PostTransactionRequest;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Status;
+import org.HdrHistogram.Histogram;
+
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for LedgerService.
+ *
+ * Requests are started on a fixed schedule at the target rate whatever the
+ * server's response time, and latency is measured from each request's
+ * scheduled start. Accounts are picked from a Zipf distribution so a few hot
+ * accounts see most of the postings, reproducing production contention.
+ *
+ * Usage (all flags optional):
+ * <pre>
+ * mvn -P loadtest test-compile exec:java -Dexec.args="--embedded --rate=500 --duration=60s"
+ * mvn -P loadtest test-compile exec:java -Dexec.args="--target=localhost:9090 --zipf=1.2"
+ * </pre>
+ * Flags: --target=host:port | --embedded, --rate=ops/s, --duration, --warmup,
+ * --accounts, --zipf (exponent, 0 = uniform), --mix, --max-in-flight,
+ * --seed-balance, --hdr-out=file (full percentile distributions).
+ */
+public final class LedgerLoadGenerator {
+
+    private static final String CURRENCY = "USD";
+
+    private final LedgerServiceGrpc.LedgerServiceFutureStub stub;
+    private final Map<String, String> options;
+    private final LatencyReport report = new LatencyReport();
+    private final AtomicLong referenceSequence = new AtomicLong();
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+    private final List<String> accountIds = new ArrayList<>();
+    private ZipfDistribution zipf;
+
+    private LedgerLoadGenerator(LedgerServiceGrpc.LedgerServiceFutureStub stub, Map<String, String> options) {
+        this.stub = stub;
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        EmbeddedLedger embedded = options.containsKey("embedded") ? EmbeddedLedger.start() : null;
+        String target = embedded != null ? "localhost:" + embedded.grpcPort()
+                : options.getOrDefault("target", "localhost:9090");
+
+        ManagedChannel channel = ManagedChannelBuilder.forTarget(target).usePlaintext().build();
+        try {
+            new LedgerLoadGenerator(LedgerServiceGrpc.newFutureStub(channel), options).run();
+        } finally {
+            channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+
+    private void run() throws Exception {
+        int accounts = Integer.parseInt(options.getOrDefault("accounts", "1000"));
+        double exponent = Double.parseDouble(options.getOrDefault("zipf", "1.1"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        Duration warmup = Duration.parse("PT" + options.getOrDefault("warmup", "10s"));
+        Duration duration = Duration.parse("PT" + options.getOrDefault("duration", "60s"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "2000"));
+        OperationMix mix = OperationMix.parse(options.getOrDefault("mix",
+                "balance=40,transfer=40,deposit=8,withdrawal=6,history=5,create=1"));
+
+        zipf = new ZipfDistribution(accounts, exponent);
+        System.out.printf("Seeding %d accounts; zipf s=%.2f puts %.1f%% of picks on the hottest account%n",
+                accounts, exponent, zipf.hottestShare() * 100);
+        seedAccounts(accounts, options.getOrDefault("seed-balance", "1000000"));
+
+        System.out.printf("Running %.0f ops/s for %s after %s warmup, mix %s%n", rate, duration, warmup, mix);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        boolean measuring = false;
+
+        for (long i = 0;; i++) {
+            long scheduled = start + i * intervalNanos;
+            if (scheduled >= end) {
+                break;
+            }
+            if (!measuring && scheduled >= measureFrom) {
+                report.reset();
+                measuring = true;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!inFlight.tryAcquire()) {
+                report.recordDropped();
+                continue;
+            }
+            issue(mix.next(), scheduled, inFlight);
+        }
+
+        // Let in-flight requests finish so their latency is counted
+        inFlight.tryAcquire(maxInFlight, 30, TimeUnit.SECONDS);
+        Map<Operation, Histogram> histograms = report.snapshot();
+        report.print(histograms, duration.toNanos() / 1e9, System.out);
+        writeHistograms(histograms);
+    }
+
+    private void issue(Operation operation, long scheduledNanos, Semaphore inFlight) {
+        ListenableFuture<?> call = switch (operation) {
+            case CREATE_ACCOUNT -> stub.createAccount(CreateAccountRequest.newBuilder()
+                    .setUserId(UUID.randomUUID().toString())
+                    .setCurrency(CURRENCY)
+                    .build());
+            case GET_BALANCE -> stub.getBalance(GetBalanceRequest.newBuilder()
+                    .setAccountId(hotAccount())
+                    .build());
+            case TRANSFER -> {
+                String from = hotAccount();
+                String to = hotAccount();
+                while (to.equals(from) && accountIds.size() > 1) {
+                    to = hotAccount();
+                }
+                yield stub.postTransaction(posting("TRANSFER", from, to, "10.00"));
+            }
+            case DEPOSIT -> stub.postTransaction(posting("DEPOSIT", null, hotAccount(), "25.00"));
+            case WITHDRAWAL -> stub.postTransaction(posting("WITHDRAWAL", hotAccount(), null, "5.00"));
+            case GET_HISTORY -> stub.getTransactionHistory(GetHistoryRequest.newBuilder()
+                    .setAccountId(hotAccount())
+                    .setSize(20)
+                    .build());
+        };
+        Futures.addCallback(call, new FutureCallback<Object>() {
+            @Override
+            public void onSuccess(Object result) {
+                complete(Status.Code.OK);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                complete(Status.fromThrowable(t).getCode());
+            }
+
+            private void complete(Status.Code code) {
+                report.record(operation, System.nanoTime() - scheduledNanos, code);
+                inFlight.release();
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private void seedAccounts(int count, String balance) throws Exception {
+        // Sequential on purpose: parallel serializable deposits abort each other before the run even starts
+        for (int i = 0; i < count; i++) {
+            String accountId = stub.createAccount(CreateAccountRequest.newBuilder()
+                    .setUserId(UUID.randomUUID().toString())
+                    .setCurrency(CURRENCY)
+                    .build()).get().getAccountId();
+            stub.postTransaction(posting("DEPOSIT", null, accountId, balance)).get();
+            accountIds.add(accountId);
+        }
+    }
+
+    private String hotAccount() {
+        return accountIds.get(zipf.sample());
+    }
+
+    private PostTransactionRequest posting(String type, String from, String to, String amount) {
+        PostTransactionRequest.Builder builder = PostTransactionRequest.newBuilder()
+                .setType(type)
+                .setAmount(amount)
+                .setCurrency(CURRENCY)
+                .setReferenceId("load-" + runId + "-" + referenceSequence.incrementAndGet())
+                .setMetadata("{\"source\":\"loadtest\",\"nonce\":" + ThreadLocalRandom.current().nextInt() + "}");
+        if (from != null) {
+            builder.setFromAccountId(from);
+        }
+        if (to != null) {
+            builder.setToAccountId(to);
+        }
+        return builder.build();
+    }
+
+    private void writeHistograms(Map<Operation, Histogram> histograms) throws Exception {
+        String path = options.get("hdr-out");
+        if (path == null) {
+            return;
+        }
+        try (PrintStream out = new PrintStream(new FileOutputStream(path))) {
+            for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+                if (entry.getValue().getTotalCount() > 0) {
+                    out.println("# " + entry.getKey().key() + " (ms)");
+                    entry.getValue().outputPercentileDistribution(out, 1_000_000.0);
+                }
+            }
+        }
+        System.out.println("Percentile distributions written to " + path);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument '" + arg + "'");
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,32 @@
+package com.banking.ledger.loadtest;
+
+/**
+ * Request types the load generator can issue.
+ */
+enum Operation {
+    CREATE_ACCOUNT("create"),
+    GET_BALANCE("balance"),
+    TRANSFER("transfer"),
+    DEPOSIT("deposit"),
+    WITHDRAWAL("withdrawal"),
+    GET_HISTORY("history");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation '" + key + "'");
+    }
+}
@@ -0,0 +1,61 @@
+package com.banking.ledger.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted choice between operations, parsed from e.g.
+ * {@code balance=40,transfer=40,deposit=8,withdrawal=6,history=5,create=1}.
+ */
+final class OperationMix {
+
+    private final Operation[] operations;
+    private final double[] cumulative;
+    private final Map<Operation, Integer> weights;
+
+    private OperationMix(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        operations = weights.keySet().toArray(new Operation[0]);
+        cumulative = new double[operations.length];
+        double total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        if (total <= 0) {
+            throw new IllegalArgumentException("Operation mix must have a positive weight");
+        }
+        double sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += weights.get(operations[i]);
+            cumulative[i] = sum / total;
+        }
+    }
+
+    static OperationMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] keyValue = part.trim().split("=");
+            if (keyValue.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + part + "'");
+            }
+            int weight = Integer.parseInt(keyValue[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.fromKey(keyValue[0].trim()), weight);
+            }
+        }
+        return new OperationMix(weights);
+    }
+
+    Operation next() {
+        double u = ThreadLocalRandom.current().nextDouble();
+        for (int i = 0; i < cumulative.length - 1; i++) {
+            if (u < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        return weights.toString();
+    }
+}
@@ -0,0 +1,26 @@
+package com.banking.ledger.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The blocking JDBC pool used by JPA, postings, Flyway and history export.
+ *
+ * Boot's DataSourceAutoConfiguration backs off as soon as an R2DBC
+ * ConnectionFactory exists, so with the reactive read path on the classpath
+ * the pool is declared here, bound from the same spring.datasource properties.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.banking.ledger.config;
+
+import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Selects the executor that gRPC server calls run on.
+ *
+ * Every handler blocks on JDBC, so with gRPC's default cached pool each
+ * in-flight call holds a platform thread, most of them waiting for a pooled
+ * connection. On virtual threads a waiting call only costs its stack on the
+ * heap; the Hikari pool, not the thread count, bounds how much work reaches
+ * the database at once.
+ *
+ * The executor is closed when the context shuts down, after the gRPC server
+ * has stopped accepting calls, so calls still in flight finish before their
+ * connections go away.
+ */
+@Configuration
+public class GrpcExecutorConfig {
+
+    @Bean
+    public GrpcServerConfigurer grpcExecutorConfigurer(@Value("${ledger.grpc.executor:virtual}") String executor,
+            ObjectProvider<ExecutorService> grpcCallExecutor) {
+        return switch (executor) {
+            case "virtual" -> {
+                ExecutorService virtualThreads = grpcCallExecutor.getObject();
+                yield serverBuilder -> serverBuilder.executor(virtualThreads);
+            }
+            case "default" -> serverBuilder -> {
+            };
+            default -> throw new IllegalStateException("Unknown ledger.grpc.executor: " + executor);
+        };
+    }
+
+    /**
+     * Beans are destroyed only after lifecycle beans, the gRPC server among
+     * them, have stopped; close() then waits for the calls still running.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "ledger.grpc.executor", havingValue = "virtual", matchIfMissing = true)
+    public ExecutorService grpcCallExecutor() {
+        return virtualThreadExecutor();
+    }
+
+    /**
+     * One new virtual thread per call.
+     */
+    static ExecutorService virtualThreadExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("grpc-call-", 0).factory());
+    }
+}
@@ -0,0 +1,26 @@
+package com.banking.ledger.config;
+
+import com.banking.ledger.domain.model.IdGenerator;
+import com.banking.ledger.domain.model.UuidV7Generator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the primary key generator for accounts, transactions and ledger
+ * entries and installs it for the entity callbacks.
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public IdGenerator idGenerator(@Value("${ledger.ids.generator:uuidv7}") String generator) {
+        IdGenerator idGenerator = switch (generator) {
+            case "uuidv7" -> new UuidV7Generator();
+            case "random" -> IdGenerator.RANDOM;
+            default -> throw new IllegalStateException("Unknown ledger.ids.generator: " + generator);
+        };
+        IdGenerator.use(idGenerator);
+        return idGenerator;
+    }
+}
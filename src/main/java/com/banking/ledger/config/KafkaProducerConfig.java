@@ -22,12 +22,16 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    // json (default) or protobuf; lets consumers migrate topic by topic before the switch
+    @Value("${ledger.events.encoding:json}")
+    private String eventEncoding;
+
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, valueSerializer());
 
         // High throughput settings
         configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, 16384);
@@ -46,6 +50,14 @@ public class KafkaProducerConfig {
         return new DefaultKafkaProducerFactory<>(configProps);
     }
 
+    private Class<?> valueSerializer() {
+        return switch (eventEncoding) {
+            case "json" -> JsonSerializer.class;
+            case "protobuf" -> ProtobufEventSerializer.class;
+            default -> throw new IllegalStateException("Unknown ledger.events.encoding: " + eventEncoding);
+        };
+    }
+
     @Bean
     public KafkaTemplate<String, Object> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
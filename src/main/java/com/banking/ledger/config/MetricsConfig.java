@@ -1,6 +1,7 @@
 package com.banking.ledger.config;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.context.annotation.Bean;
@@ -52,4 +53,122 @@ public class MetricsConfig {
                 .tag("service", "ledger")
                 .register(registry);
     }
+
+    @Bean
+    public Counter retryAttemptCounter(MeterRegistry registry) {
+        return Counter.builder("ledger.transaction.retry.attempts")
+                .description("Number of posting retries after a serialization or optimistic lock failure")
+                .tag("service", "ledger")
+                .register(registry);
+    }
+
+    @Bean
+    public Counter retryRecoveredCounter(MeterRegistry registry) {
+        return Counter.builder("ledger.transaction.retry.recovered")
+                .description("Number of postings that succeeded after at least one retry")
+                .tag("service", "ledger")
+                .register(registry);
+    }
+
+    @Bean
+    public Counter retryExhaustedCounter(MeterRegistry registry) {
+        return Counter.builder("ledger.transaction.retry.exhausted")
+                .description("Number of postings that gave up after the retry budget was spent")
+                .tag("service", "ledger")
+                .register(registry);
+    }
+
+    @Bean
+    public Counter balanceCacheHitCounter(MeterRegistry registry) {
+        return Counter.builder("ledger.balance.cache.hit")
+                .description("Number of balance reads served from the in-process cache")
+                .tag("service", "ledger")
+                .register(registry);
+    }
+
+    @Bean
+    public Counter balanceCacheMissCounter(MeterRegistry registry) {
+        return Counter.builder("ledger.balance.cache.miss")
+                .description("Number of balance reads that had to load the account from the database")
+                .tag("service", "ledger")
+                .register(registry);
+    }
+
+    @Bean
+    public Counter idempotencyCacheHitCounter(MeterRegistry registry) {
+        return Counter.builder("ledger.idempotency.cache.hit")
+                .description("Number of duplicate postings answered from the in-process response cache")
+                .tag("service", "ledger")
+                .register(registry);
+    }
+
+    @Bean
+    public Counter idempotencyCacheMissCounter(MeterRegistry registry) {
+        return Counter.builder("ledger.idempotency.cache.miss")
+                .description("Number of duplicate postings whose response had to be read from the database")
+                .tag("service", "ledger")
+                .register(registry);
+    }
+
+    @Bean
+    public Counter idempotencyFilterNegativeCounter(MeterRegistry registry) {
+        return Counter.builder("ledger.idempotency.filter.negative")
+                .description("Number of reference IDs the filter reported as certainly new, skipping the lookup")
+                .tag("service", "ledger")
+                .register(registry);
+    }
+
+    @Bean
+    public Counter idempotencyFilterFalsePositiveCounter(MeterRegistry registry) {
+        return Counter.builder("ledger.idempotency.filter.false.positive")
+                .description("Number of reference IDs the filter flagged that the lookup found unclaimed")
+                .tag("service", "ledger")
+                .register(registry);
+    }
+
+    @Bean
+    public Gauge idempotencyFilterFalsePositiveRate(MeterRegistry registry,
+            Counter idempotencyFilterNegativeCounter,
+            Counter idempotencyFilterFalsePositiveCounter) {
+        return Gauge.builder("ledger.idempotency.filter.false.positive.rate", () -> {
+                    double falsePositives = idempotencyFilterFalsePositiveCounter.count();
+                    double checkedNew = falsePositives + idempotencyFilterNegativeCounter.count();
+                    return checkedNew == 0 ? 0 : falsePositives / checkedNew;
+                })
+                .description("Share of new reference IDs the filter wrongly flagged as possibly claimed")
+                .tag("service", "ledger")
+                .register(registry);
+    }
+
+    @Bean
+    public Counter outboxRelayedCounter(MeterRegistry registry) {
+        return Counter.builder("ledger.outbox.relayed")
+                .description("Number of outbox events published to Kafka and marked as sent")
+                .tag("service", "ledger")
+                .register(registry);
+    }
+
+    @Bean
+    public Counter outboxRelayFailureCounter(MeterRegistry registry) {
+        return Counter.builder("ledger.outbox.relay.failures")
+                .description("Number of failed outbox relay rounds and sends")
+                .tag("service", "ledger")
+                .register(registry);
+    }
+
+    @Bean
+    public Counter replicaReadCounter(MeterRegistry registry) {
+        return Counter.builder("ledger.read.replica")
+                .description("Number of balance and history reads routed to a read replica")
+                .tag("service", "ledger")
+                .register(registry);
+    }
+
+    @Bean
+    public Counter primaryReadCounter(MeterRegistry registry) {
+        return Counter.builder("ledger.read.primary")
+                .description("Number of balance and history reads served by the primary, no replica qualifying")
+                .tag("service", "ledger")
+                .register(registry);
+    }
 }
@@ -0,0 +1,22 @@
+package com.banking.ledger.config;
+
+import com.banking.ledger.service.PostingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects how batch postings are isolated from each other.
+ */
+@Configuration
+public class PostingModeConfig {
+
+    @Bean
+    public PostingMode postingMode(@Value("${ledger.posting.mode:serializable}") String mode) {
+        return switch (mode) {
+            case "serializable" -> PostingMode.SERIALIZABLE;
+            case "locking" -> PostingMode.LOCKING;
+            default -> throw new IllegalStateException("Unknown ledger.posting.mode: " + mode);
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package com.banking.ledger.config;
+
+import com.banking.ledger.domain.event.AccountCreatedEvent;
+import com.banking.ledger.domain.event.LedgerTransactionPostedEvent;
+import com.banking.ledger.domain.event.TransactionFailedEvent;
+import com.banking.ledger.grpc.events.AccountCreated;
+import com.banking.ledger.grpc.events.Decimal;
+import com.banking.ledger.grpc.events.LedgerTransactionPosted;
+import com.banking.ledger.grpc.events.TransactionFailed;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Message;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Kafka value serializer that writes ledger events as the protobuf messages
+ * in ledger_events.proto. UUIDs are written as 16 raw bytes and amounts as
+ * unscaled integer plus scale, instead of JSON text.
+ */
+public class ProtobufEventSerializer implements Serializer<Object> {
+
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return data == null ? null : toMessage(data).toByteArray();
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data == null) {
+            return null;
+        }
+        Message message = toMessage(data);
+        headers.remove(CONTENT_TYPE_HEADER);
+        headers.add(CONTENT_TYPE_HEADER, ("application/x-protobuf;messageType="
+                + message.getDescriptorForType().getFullName()).getBytes(StandardCharsets.UTF_8));
+        return message.toByteArray();
+    }
+
+    static Message toMessage(Object data) {
+        if (data instanceof LedgerTransactionPostedEvent event) {
+            LedgerTransactionPosted.Builder builder = LedgerTransactionPosted.newBuilder()
+                    .setTransactionId(uuid(event.getTransactionId()))
+                    .setReferenceId(event.getReferenceId())
+                    .setType(event.getType())
+                    .setStatus(event.getStatus())
+                    .setAmount(decimal(event.getAmount()))
+                    .setCurrency(event.getCurrency());
+            if (event.getFromAccountId() != null) {
+                builder.setFromAccountId(uuid(event.getFromAccountId()));
+            }
+            if (event.getToAccountId() != null) {
+                builder.setToAccountId(uuid(event.getToAccountId()));
+            }
+            if (event.getMetadata() != null) {
+                builder.setMetadata(event.getMetadata());
+            }
+            return builder.build();
+        }
+        if (data instanceof AccountCreatedEvent event) {
+            return AccountCreated.newBuilder()
+                    .setAccountId(uuid(event.getAccountId()))
+                    .setUserId(uuid(event.getUserId()))
+                    .setCurrency(event.getCurrency())
+                    .setInitialBalance(decimal(event.getInitialBalance()))
+                    .build();
+        }
+        if (data instanceof TransactionFailedEvent event) {
+            TransactionFailed.Builder builder = TransactionFailed.newBuilder()
+                    .setReferenceId(event.getReferenceId());
+            if (event.getReason() != null) {
+                builder.setReason(event.getReason());
+            }
+            return builder.build();
+        }
+        throw new SerializationException("No protobuf mapping for " + data.getClass().getName());
+    }
+
+    private static ByteString uuid(UUID id) {
+        return ByteString.copyFrom(ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array());
+    }
+
+    private static Decimal decimal(BigDecimal value) {
+        return Decimal.newBuilder()
+                .setUnscaled(ByteString.copyFrom(value.unscaledValue().toByteArray()))
+                .setScale(value.scale())
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.banking.ledger.config;
+
+import com.banking.ledger.domain.repository.ReadRoutingConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The R2DBC connection factory used by the reactive read path: the primary
+ * from spring.r2dbc, plus one pool per replica listed in ledger.read.replicas.
+ * Replica pools share the primary's credentials and pool settings. Declaring
+ * the factory here replaces Boot's auto-configured pool.
+ */
+@Configuration
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReadRoutingConnectionFactory connectionFactory(R2dbcProperties properties,
+            @Value("${ledger.read.replicas:}") List<String> replicaUrls) {
+        Map<String, ConnectionFactory> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            if (!url.isBlank()) {
+                String name = "replica-" + replicas.size();
+                replicas.put(name, pool(name, url.trim(), properties));
+            }
+        }
+        return new ReadRoutingConnectionFactory(pool("primary", properties.getUrl(), properties), replicas);
+    }
+
+    private static ConnectionPool pool(String name, String url, R2dbcProperties properties) {
+        PropertyMapper map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+        ConnectionFactoryBuilder connectionFactory = ConnectionFactoryBuilder.withUrl(url);
+        map.from(properties.getUsername()).to(connectionFactory::username);
+        map.from(properties.getPassword()).to(connectionFactory::password);
+
+        R2dbcProperties.Pool pool = properties.getPool();
+        ConnectionPoolConfiguration.Builder configuration = ConnectionPoolConfiguration
+                .builder(connectionFactory.build())
+                .name("read-" + name)
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize());
+        map.from(pool.getMaxIdleTime()).to(configuration::maxIdleTime);
+        map.from(pool.getMaxAcquireTime()).to(configuration::maxAcquireTime);
+        map.from(pool.getValidationQuery()).to(configuration::validationQuery);
+        return new ConnectionPool(configuration.build());
+    }
+}
@@ -0,0 +1,13 @@
+package com.banking.ledger.domain.event;
+
+/**
+ * A domain event stored in the outbox until the relay has published it.
+ *
+ * @param id        outbox sequence number, null until inserted
+ * @param topic     the Kafka topic
+ * @param key       the Kafka record key
+ * @param eventType simple class name of the serialized event
+ * @param payload   the event as JSON
+ */
+public record OutboxEvent(Long id, String topic, String key, String eventType, String payload) {
+}
@@ -43,7 +43,7 @@ public class Account {
     @PrePersist
     public void prePersist() {
         if (id == null) {
-            id = UUID.randomUUID();
+            id = IdGenerator.nextId();
         }
         if (balance == null) {
             balance = BigDecimal.ZERO;
@@ -0,0 +1,56 @@
+package com.banking.ledger.domain.model;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Source of primary keys for ledger entities.
+ *
+ * Entities are not Spring beans, so they read the generator through a static
+ * holder that the application configures at startup. The default is time
+ * ordered UUIDv7, which keeps inserts at the right-hand edge of the primary
+ * key B-trees instead of scattering them across every page.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    /**
+     * Returns a new unique identifier.
+     */
+    UUID next();
+
+    /**
+     * Random version 4 identifiers, as used before UUIDv7.
+     */
+    IdGenerator RANDOM = UUID::randomUUID;
+
+    /**
+     * Returns the generator used by entity {@code prePersist} callbacks.
+     */
+    static IdGenerator current() {
+        return Holder.generator;
+    }
+
+    /**
+     * Replaces the generator used by entity {@code prePersist} callbacks.
+     *
+     * @param generator the new generator
+     */
+    static void use(IdGenerator generator) {
+        Holder.generator = Objects.requireNonNull(generator, "generator");
+    }
+
+    /**
+     * Returns a new identifier from the current generator.
+     */
+    static UUID nextId() {
+        return Holder.generator.next();
+    }
+
+    final class Holder {
+        private static volatile IdGenerator generator = new UuidV7Generator();
+
+        private Holder() {
+        }
+    }
+}
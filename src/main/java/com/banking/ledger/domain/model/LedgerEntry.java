@@ -5,7 +5,6 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -41,14 +40,18 @@ public class LedgerEntry {
     @Column(name = "balance_after", nullable = false, precision = 19, scale = 4)
     private BigDecimal balanceAfter;
 
-    @CreationTimestamp
-    @Column(name = "created_at", updatable = false)
+    // Partition key, copied from the transaction so joins to it prune to one partition
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
-    
+
     @PrePersist
     public void prePersist() {
         if (id == null) {
-            id = UUID.randomUUID();
+            id = IdGenerator.nextId();
+        }
+        if (createdAt == null) {
+            createdAt = transaction != null && transaction.getCreatedAt() != null
+                    ? transaction.getCreatedAt() : LocalDateTime.now();
         }
     }
 
@@ -5,7 +5,6 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -22,8 +21,8 @@ public class Transaction {
     @Column(columnDefinition = "uuid")
     private UUID id;
 
-    @Column(name = "reference_id", nullable = false, unique = true)
-    private String referenceId; // Idempotency key
+    @Column(name = "reference_id", nullable = false)
+    private String referenceId; // Idempotency key, unique through transaction_references
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -36,14 +35,17 @@ public class Transaction {
     @Column(columnDefinition = "text")
     private String metadata;
 
-    @CreationTimestamp
-    @Column(name = "created_at", updatable = false)
+    // Partition key; ledger entries of the transaction carry the same value
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @PrePersist
     public void prePersist() {
         if (id == null) {
-            id = UUID.randomUUID();
+            id = IdGenerator.nextId();
+        }
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
         }
     }
 
@@ -0,0 +1,47 @@
+package com.banking.ledger.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Claimed idempotency key. The transactions table is partitioned, so it
+ * cannot enforce a unique reference_id itself; a database trigger adds a row
+ * here for every inserted transaction. The transaction's created_at lets a
+ * lookup by reference go straight to the right partition, and the status
+ * copied at insert is enough to replay the response to a duplicate posting.
+ */
+@Entity
+@Table(name = "transaction_references")
+@Immutable
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionReference {
+
+    @Id
+    @Column(name = "reference_id")
+    private String referenceId;
+
+    @Column(name = "transaction_id", columnDefinition = "uuid", nullable = false)
+    private UUID transactionId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Transaction.TransactionStatus status;
+}
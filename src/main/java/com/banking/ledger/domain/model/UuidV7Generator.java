@@ -0,0 +1,66 @@
+package com.banking.ledger.domain.model;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Monotonic UUIDv7 generator (RFC 9562).
+ *
+ * The 48-bit Unix millisecond timestamp and the 12-bit {@code rand_a} field
+ * are treated as one 60-bit counter held in an {@link AtomicLong}. Each call
+ * takes the larger of the current clock and the previous value plus one, so
+ * identifiers are strictly increasing across threads without a lock, even if
+ * the wall clock steps backwards. More than 4096 identifiers in one
+ * millisecond borrow from the next millisecond rather than block.
+ *
+ * The remaining 62 bits are random. They come from {@link ThreadLocalRandom}:
+ * identifiers are unique and ordered but not unguessable.
+ */
+public final class UuidV7Generator implements IdGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION = 0x7L << COUNTER_BITS;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private final LongSupplier clock;
+    private final AtomicLong lastTick = new AtomicLong();
+
+    public UuidV7Generator() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock source of Unix epoch milliseconds
+     */
+    public UuidV7Generator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID next() {
+        long now = clock.getAsLong() << COUNTER_BITS;
+        long tick = lastTick.accumulateAndGet(now, (last, candidate) -> Math.max(last + 1, candidate));
+
+        long timestamp = tick >>> COUNTER_BITS;
+        long mostSigBits = (timestamp << 16) | VERSION | (tick & COUNTER_MASK);
+        long leastSigBits = VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Extracts the Unix millisecond timestamp of a UUIDv7.
+     *
+     * @param id a version 7 identifier
+     * @return milliseconds since the epoch
+     */
+    public static long timestampMillis(UUID id) {
+        if (id.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + id);
+        }
+        return id.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,105 @@
+package com.banking.ledger.domain.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * JDBC access to the per-account balance checkpoints read by as-of balance
+ * queries. PostgreSQL only.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BalanceCheckpointRepository {
+
+    // Arbitrary key for the advisory lock that lets one node write checkpoints at a time
+    private static final long CHECKPOINT_LOCK_KEY = 0x62616c636b70L;
+
+    /*
+     * Entries since the previous round are summed per account through
+     * idx_ledger_created_id, pruned to the partitions the window touches, and
+     * added to each account's latest checkpoint.
+     */
+    private static final String INSERT_CHECKPOINTS = """
+            INSERT INTO balance_checkpoints (account_id, as_of, balance)
+            SELECT d.account_id, ?, COALESCE(c.balance, 0) + d.delta
+            FROM (SELECT account_id, SUM(amount) AS delta
+                  FROM ledger_entries
+                  WHERE created_at > (SELECT COALESCE(max(as_of), '-infinity') FROM balance_checkpoints)
+                    AND created_at <= ?
+                  GROUP BY account_id) d
+            LEFT JOIN LATERAL (SELECT balance
+                               FROM balance_checkpoints
+                               WHERE account_id = d.account_id
+                               ORDER BY as_of DESC
+                               LIMIT 1) c ON true
+            ON CONFLICT DO NOTHING
+            """;
+
+    /*
+     * Entries before the month start are summed into checkpoints no later than
+     * the first round at or after it. Fails on the NOT NULL constraint if no
+     * such round exists. The horizon never moves back.
+     */
+    private static final String RAISE_HORIZON = """
+            INSERT INTO balance_as_of_horizon (earliest_as_of)
+            SELECT min(as_of) FROM balance_checkpoints WHERE as_of >= ?
+            ON CONFLICT (id) DO UPDATE
+            SET earliest_as_of = GREATEST(balance_as_of_horizon.earliest_as_of, EXCLUDED.earliest_as_of)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Takes the checkpoint lock for the rest of the current transaction
+     * without waiting.
+     *
+     * @return false if another node holds it
+     */
+    public boolean tryLockCheckpoints() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)",
+                Boolean.class, CHECKPOINT_LOCK_KEY));
+    }
+
+    /**
+     * Time of the latest checkpoint round, or null before the first.
+     */
+    public LocalDateTime findLatestAsOf() {
+        return jdbcTemplate.queryForObject("SELECT max(as_of) FROM balance_checkpoints", LocalDateTime.class);
+    }
+
+    /**
+     * Instant of the latest checkpoint round, or null before the first. Every
+     * entry up to it is summed into some checkpoint of its account.
+     */
+    public Instant findCheckpointedThrough() {
+        Timestamp latest = jdbcTemplate.queryForObject("SELECT max(as_of) FROM balance_checkpoints", Timestamp.class);
+        return latest == null ? null : latest.toInstant();
+    }
+
+    /**
+     * Records that entries before {@code detachedBefore} are being detached, so
+     * that as-of balances for times their replay would still read are refused.
+     * Call in the transaction that detaches them.
+     *
+     * @param detachedBefore start of the oldest month still attached
+     */
+    public void raiseAsOfHorizon(Instant detachedBefore) {
+        jdbcTemplate.update(RAISE_HORIZON, Timestamp.from(detachedBefore));
+    }
+
+    /**
+     * Records the balance at {@code asOf} of every account with entries since
+     * the previous round. Accounts without entries keep their older checkpoint.
+     * A cutoff at or before the previous round records nothing.
+     *
+     * @return the number of checkpoints written
+     */
+    public int checkpoint(LocalDateTime asOf) {
+        return jdbcTemplate.update(INSERT_CHECKPOINTS, asOf, asOf);
+    }
+}
@@ -1,15 +1,16 @@
 package com.banking.ledger.domain.repository;
 
 import com.banking.ledger.domain.model.LedgerEntry;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.UUID;
 
+/**
+ * JPA access to ledger entries. Postings write entries through
+ * {@link LedgerJdbcRepository}; account history is read through
+ * {@link ReactiveLedgerEntryRepository}.
+ */
 @Repository
 public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, UUID> {
-    
-    Page<LedgerEntry> findByAccountIdOrderByCreatedAtDesc(UUID accountId, Pageable pageable);
 }
@@ -0,0 +1,25 @@
+package com.banking.ledger.domain.repository;
+
+import com.banking.ledger.domain.model.LedgerEntry;
+import com.banking.ledger.domain.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only view of one ledger entry joined with its transaction, as shown in
+ * account history.
+ */
+public record LedgerHistoryRow(
+        UUID entryId,
+        UUID accountId,
+        UUID transactionId,
+        String referenceId,
+        Transaction.TransactionType type,
+        Transaction.TransactionStatus status,
+        BigDecimal amount,
+        LedgerEntry.EntryDirection direction,
+        BigDecimal balanceAfter,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,252 @@
+package com.banking.ledger.domain.repository;
+
+import com.banking.ledger.domain.model.Account;
+import com.banking.ledger.domain.model.LedgerEntry;
+import com.banking.ledger.domain.model.Transaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Plain JDBC access for write paths where per-entity JPA persistence is too
+ * expensive. Rows written here bypass the persistence context, so callers must
+ * assign ids and timestamps themselves.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LedgerJdbcRepository {
+
+    private static final String INSERT_TRANSACTION = """
+            INSERT INTO transactions (id, reference_id, type, status, metadata, created_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_LEDGER_ENTRY = """
+            INSERT INTO ledger_entries (id, transaction_id, account_id, amount, direction, balance_after, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String SELECT_HISTORY = """
+            SELECT e.id, e.account_id, e.amount, e.direction, e.balance_after, e.created_at,
+                   t.id AS transaction_id, t.reference_id, t.type, t.status
+            FROM ledger_entries e
+            JOIN transactions t ON t.id = e.transaction_id AND t.created_at = e.created_at
+            """;
+
+    private static final String DEBIT_ACCOUNT = """
+            UPDATE accounts
+            SET balance = balance - ?, version = version + 1
+            WHERE id = ? AND currency = ? AND balance >= ?
+            RETURNING id, user_id, currency, balance, version, created_at
+            """;
+
+    private static final String CREDIT_ACCOUNT = """
+            UPDATE accounts
+            SET balance = balance + ?, version = version + 1
+            WHERE id = ? AND currency = ?
+            RETURNING id, user_id, currency, balance, version, created_at
+            """;
+
+    private static final String SELECT_REFERENCES_SINCE = """
+            SELECT reference_id, created_at
+            FROM transactions
+            WHERE created_at >= ?
+            """;
+
+    private static final String SELECT_WAL_INSERT_LSN = "SELECT pg_current_wal_insert_lsn()::text";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Debits an account in one statement if it has the currency and enough
+     * balance. The check and the write are a single row update, so concurrent
+     * debits cannot overdraw the account at any isolation level; the version is
+     * bumped so JPA writers holding the account see the change.
+     *
+     * @return the account as updated, or empty if it is missing, in another
+     *         currency or short of funds
+     */
+    public Optional<Account> debit(UUID accountId, String currency, BigDecimal amount) {
+        return jdbcTemplate.query(DEBIT_ACCOUNT, LedgerJdbcRepository::mapAccount,
+                amount, accountId, currency, amount).stream().findFirst();
+    }
+
+    /**
+     * Credits an account in one statement if it has the currency.
+     *
+     * @return the account as updated, or empty if it is missing or in another
+     *         currency
+     */
+    public Optional<Account> credit(UUID accountId, String currency, BigDecimal amount) {
+        return jdbcTemplate.query(CREDIT_ACCOUNT, LedgerJdbcRepository::mapAccount,
+                amount, accountId, currency).stream().findFirst();
+    }
+
+    /**
+     * Inserts transactions as a single JDBC batch.
+     */
+    public void insertTransactions(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION, transactions, transactions.size(), (ps, tx) -> {
+            ps.setObject(1, tx.getId());
+            ps.setString(2, tx.getReferenceId());
+            ps.setString(3, tx.getType().name());
+            ps.setString(4, tx.getStatus().name());
+            ps.setString(5, tx.getMetadata());
+            ps.setTimestamp(6, Timestamp.valueOf(tx.getCreatedAt()));
+        });
+    }
+
+    /**
+     * Inserts ledger entries as a single JDBC batch.
+     */
+    public void insertLedgerEntries(List<LedgerEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_LEDGER_ENTRY, entries, entries.size(), (ps, entry) -> {
+            ps.setObject(1, entry.getId());
+            ps.setObject(2, entry.getTransaction().getId());
+            ps.setObject(3, entry.getAccount().getId());
+            ps.setBigDecimal(4, entry.getAmount());
+            ps.setString(5, entry.getDirection().name());
+            ps.setBigDecimal(6, entry.getBalanceAfter());
+            ps.setTimestamp(7, Timestamp.valueOf(entry.getCreatedAt()));
+        });
+    }
+
+    /**
+     * Streams ledger history oldest first through a forward-only cursor.
+     * Rows are fetched from the database {@code fetchSize} at a time, so memory
+     * stays flat however long the history is. The read runs in one read-only
+     * transaction, which the PostgreSQL driver needs to use a server-side cursor.
+     *
+     * @param accountId the account, or null for every account
+     * @param from      inclusive lower bound on created_at, may be null
+     * @param to        exclusive upper bound on created_at, may be null
+     * @param fetchSize rows fetched per round trip
+     * @param sink      receives each row; returning false stops the read
+     * @return the number of rows read
+     */
+    @Transactional(readOnly = true)
+    public long streamHistory(UUID accountId, LocalDateTime from, LocalDateTime to, int fetchSize,
+            Predicate<LedgerHistoryRow> sink) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (accountId != null) {
+            conditions.add("e.account_id = ?");
+            args.add(accountId);
+        }
+        if (from != null) {
+            conditions.add("e.created_at >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            conditions.add("e.created_at < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        String sql = SELECT_HISTORY
+                + (conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + "\n")
+                + "ORDER BY e.created_at, e.id";
+
+        Long rows = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, rs -> {
+            long count = 0;
+            while (rs.next()) {
+                count++;
+                if (!sink.test(mapHistoryRow(rs))) {
+                    break;
+                }
+            }
+            return count;
+        });
+        return rows != null ? rows : 0;
+    }
+
+    /**
+     * Streams the reference IDs of transactions created since a point in time,
+     * in no particular order. Only the partitions covering the range are read.
+     *
+     * @param since     inclusive lower bound on created_at
+     * @param fetchSize rows fetched per round trip
+     * @param sink      receives each reference ID and its creation time
+     * @return the number of rows read
+     */
+    @Transactional(readOnly = true)
+    public long streamReferenceIds(LocalDateTime since, int fetchSize, BiConsumer<String, LocalDateTime> sink) {
+        Long rows = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_REFERENCES_SINCE, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setTimestamp(1, Timestamp.valueOf(since));
+            return ps;
+        }, rs -> {
+            long count = 0;
+            while (rs.next()) {
+                count++;
+                sink.accept(rs.getString("reference_id"), rs.getTimestamp("created_at").toLocalDateTime());
+            }
+            return count;
+        });
+        return rows != null ? rows : 0;
+    }
+
+    /**
+     * Reads the primary's current WAL insert position. Called after a commit,
+     * it is at or past the end of that commit's WAL record, so a replica that
+     * has replayed up to it sees the committed rows.
+     *
+     * @return the position in PostgreSQL's text form
+     */
+    public String currentWalInsertLsn() {
+        return jdbcTemplate.queryForObject(SELECT_WAL_INSERT_LSN, String.class);
+    }
+
+    private static Account mapAccount(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return Account.builder()
+                .id(rs.getObject("id", UUID.class))
+                .userId(rs.getObject("user_id", UUID.class))
+                .currency(rs.getString("currency"))
+                .balance(rs.getBigDecimal("balance"))
+                .version(rs.getLong("version"))
+                .createdAt(createdAt != null ? createdAt.toLocalDateTime() : null)
+                .build();
+    }
+
+    private static LedgerHistoryRow mapHistoryRow(ResultSet rs) throws SQLException {
+        return new LedgerHistoryRow(
+                rs.getObject("id", UUID.class),
+                rs.getObject("account_id", UUID.class),
+                rs.getObject("transaction_id", UUID.class),
+                rs.getString("reference_id"),
+                Transaction.TransactionType.valueOf(rs.getString("type")),
+                Transaction.TransactionStatus.valueOf(rs.getString("status")),
+                rs.getBigDecimal("amount"),
+                LedgerEntry.EntryDirection.valueOf(rs.getString("direction")),
+                rs.getBigDecimal("balance_after"),
+                rs.getTimestamp("created_at").toLocalDateTime());
+    }
+}
@@ -0,0 +1,180 @@
+package com.banking.ledger.domain.repository;
+
+import com.banking.ledger.domain.event.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC access to the transactional outbox.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+    // Arbitrary key for the advisory lock that lets one node relay at a time
+    private static final long RELAY_LOCK_KEY = 0x6c6564676572L;
+
+    private static final String INSERT_EVENT = """
+            INSERT INTO outbox_events (topic, event_key, event_type, payload)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private static final String SELECT_UNSENT = """
+            SELECT id, topic, event_key, event_type, payload
+            FROM outbox_events
+            WHERE sent_at IS NULL
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    // A range of idx_outbox_sent_at
+    static final String DELETE_SENT_BEFORE = "DELETE FROM outbox_events WHERE sent_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts events as a single JDBC batch in the caller's transaction.
+     */
+    public void insert(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events, events.size(), (ps, event) -> {
+            ps.setString(1, event.topic());
+            ps.setString(2, event.key());
+            ps.setString(3, event.eventType());
+            ps.setString(4, event.payload());
+        });
+    }
+
+    /**
+     * Takes the relay lock without waiting. The lock is session level and
+     * lives on a connection of its own, so it is held across the relay's
+     * short transactions, and while it waits on Kafka, without keeping any
+     * transaction open. PostgreSQL only.
+     *
+     * @return the held lock, or empty if another node is relaying
+     */
+    public Optional<RelayLock> tryLockRelay() {
+        Connection connection;
+        try {
+            // Straight from the pool, never a connection bound to a caller's transaction
+            connection = jdbcTemplate.getDataSource().getConnection();
+        } catch (SQLException e) {
+            throw new CannotGetJdbcConnectionException("Failed to obtain a connection for the relay lock", e);
+        }
+        RelayLock lock = new RelayLock(connection);
+        try {
+            if (lock.tryLock()) {
+                return Optional.of(lock);
+            }
+        } catch (RuntimeException e) {
+            lock.close();
+            throw e;
+        }
+        lock.close();
+        return Optional.empty();
+    }
+
+    /**
+     * Oldest unsent events, in the order they were written.
+     */
+    public List<OutboxEvent> findUnsent(int limit) {
+        return jdbcTemplate.query(SELECT_UNSENT, (rs, rowNum) -> new OutboxEvent(
+                rs.getLong("id"),
+                rs.getString("topic"),
+                rs.getString("event_key"),
+                rs.getString("event_type"),
+                rs.getString("payload")), limit);
+    }
+
+    public void markSent(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("UPDATE outbox_events SET sent_at = CURRENT_TIMESTAMP WHERE id = ?", ids,
+                ids.size(), (ps, id) -> ps.setLong(1, id));
+    }
+
+    /**
+     * Deletes published events older than the cutoff.
+     *
+     * @return the number of rows deleted
+     */
+    public int deleteSentBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update(DELETE_SENT_BEFORE, Timestamp.valueOf(cutoff));
+    }
+
+    /**
+     * The relay lock and the connection holding it. Closing releases both;
+     * if the lock cannot be released the connection is aborted first, so it
+     * never goes back to the pool still holding it.
+     */
+    public static final class RelayLock implements AutoCloseable {
+
+        private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+        private final Connection connection;
+        private boolean locked;
+
+        private RelayLock(Connection connection) {
+            this.connection = connection;
+        }
+
+        private boolean tryLock() {
+            locked = Boolean.TRUE.equals(lockTemplate().queryForObject("SELECT pg_try_advisory_lock(?)",
+                    Boolean.class, RELAY_LOCK_KEY));
+            return locked;
+        }
+
+        /**
+         * Whether the lock is still held: the session holding it ends only
+         * with its connection.
+         */
+        public boolean isHeld() {
+            try {
+                return locked && connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (locked) {
+                    lockTemplate().queryForObject("SELECT pg_advisory_unlock(?)", Boolean.class, RELAY_LOCK_KEY);
+                }
+            } catch (DataAccessException e) {
+                // Ending the session is the only other way to release it
+                try {
+                    connection.abort(Runnable::run);
+                } catch (SQLException abortFailure) {
+                    e.addSuppressed(abortFailure);
+                }
+            } finally {
+                locked = false;
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    // Already broken; the pool discards it
+                }
+            }
+        }
+
+        private JdbcTemplate lockTemplate() {
+            return new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.banking.ledger.domain.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * JDBC access to the monthly partitions of the ledger tables. PostgreSQL only.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PartitionRepository {
+
+    // Arbitrary key for the advisory lock that lets one node maintain partitions at a time
+    private static final long MAINTENANCE_LOCK_KEY = 0x706172746e73L;
+
+    private static final String SELECT_PARTITIONS = """
+            SELECT child.relname
+            FROM pg_inherits i
+            JOIN pg_class parent ON parent.oid = i.inhparent
+            JOIN pg_class child ON child.oid = i.inhrelid
+            WHERE parent.relname = ?
+            ORDER BY child.relname
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Takes the maintenance lock for the rest of the current transaction
+     * without waiting.
+     *
+     * @return false if another node holds it
+     */
+    public boolean tryLockMaintenance() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)",
+                Boolean.class, MAINTENANCE_LOCK_KEY));
+    }
+
+    /**
+     * Names of the partitions currently attached to a table.
+     */
+    public List<String> findPartitions(String table) {
+        return jdbcTemplate.queryForList(SELECT_PARTITIONS, String.class, table);
+    }
+
+    /**
+     * Creates the partition of a table for one month if it does not exist yet,
+     * through the create_monthly_partition function of the V5 migration.
+     *
+     * @return the partition name
+     */
+    public String createMonthlyPartition(String table, YearMonth month) {
+        return jdbcTemplate.queryForObject("SELECT create_monthly_partition(?, ?)", String.class, table,
+                Date.valueOf(month.atDay(1)));
+    }
+
+    /**
+     * Detaches a partition from its table. The rows stay in a standalone table
+     * of the same name, ready to be archived and dropped.
+     */
+    public void detachPartition(String table, String partition) {
+        // Identifiers cannot be bound; both come from the catalog or a fixed list
+        jdbcTemplate.execute("ALTER TABLE " + quote(table) + " DETACH PARTITION " + quote(partition));
+    }
+
+    private static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,129 @@
+package com.banking.ledger.domain.repository;
+
+import com.banking.ledger.domain.model.Account;
+import com.banking.ledger.exception.BalanceHistoryUnavailableException;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Non-blocking account reads over R2DBC. Reads served here use their own
+ * connection pool, so they never wait behind postings for a JDBC connection.
+ * Accounts are returned detached; all writes go through JPA or
+ * {@link LedgerJdbcRepository}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveAccountRepository {
+
+    private static final String SELECT_ACCOUNT = """
+            SELECT id, user_id, currency, balance, version, created_at
+            FROM accounts
+            WHERE id = $1
+            """;
+
+    private static final String SELECT_ACCOUNTS = """
+            SELECT id, user_id, currency, balance, version, created_at
+            FROM accounts
+            WHERE id = ANY($1)
+            """;
+
+    /*
+     * The latest checkpoint at or before the time, plus the account's entries
+     * after it up to the time: an index-only range of
+     * idx_ledger_account_history. Without a checkpoint every entry up to the
+     * time is summed. A time before balance_as_of_horizon would sum detached
+     * rows and is flagged instead; an account created after the time is not
+     * returned.
+     */
+    static final String SELECT_BALANCE_AS_OF = """
+            SELECT a.id, a.currency,
+                   $2 < COALESCE((SELECT earliest_as_of FROM balance_as_of_horizon), '-infinity') AS detached,
+                   COALESCE(c.balance, 0) + COALESCE((SELECT SUM(e.amount)
+                                                     FROM ledger_entries e
+                                                     WHERE e.account_id = a.id
+                                                       AND e.created_at > COALESCE(c.as_of, '-infinity')
+                                                       AND e.created_at <= $2), 0) AS balance
+            FROM accounts a
+            LEFT JOIN LATERAL (SELECT as_of, balance
+                               FROM balance_checkpoints
+                               WHERE account_id = a.id
+                                 AND as_of <= $2
+                               ORDER BY as_of DESC
+                               LIMIT 1) c ON true
+            WHERE a.id = $1
+              AND a.created_at <= $2
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Loads the committed state of an account.
+     *
+     * @return the account, or empty if it does not exist
+     */
+    public Mono<Account> findById(UUID id) {
+        return databaseClient.sql(SELECT_ACCOUNT)
+                .bind(0, id)
+                .map(ReactiveAccountRepository::mapAccount)
+                .one();
+    }
+
+    /**
+     * Loads the committed state of several accounts in one query.
+     *
+     * @return the accounts that exist, in no particular order
+     */
+    public Flux<Account> findAllById(Collection<UUID> ids) {
+        return databaseClient.sql(SELECT_ACCOUNTS)
+                .bind(0, ids.toArray(UUID[]::new))
+                .map(ReactiveAccountRepository::mapAccount)
+                .all();
+    }
+
+    /**
+     * The balance of an account at a point in time, including every entry
+     * created at or before it.
+     *
+     * @return the account's id, currency and balance at that time, or empty if
+     *         it does not exist or was created later; fails with
+     *         {@link BalanceHistoryUnavailableException} for a time whose
+     *         entries may have been detached
+     */
+    public Mono<Account> findBalanceAsOf(UUID id, LocalDateTime asOf) {
+        return databaseClient.sql(SELECT_BALANCE_AS_OF)
+                .bind(0, id)
+                .bind(1, asOf)
+                .map(row -> {
+                    if (Boolean.TRUE.equals(row.get("detached", Boolean.class))) {
+                        throw new BalanceHistoryUnavailableException(
+                                "Entries up to " + asOf + " are partly detached for archiving");
+                    }
+                    return Account.builder()
+                            .id(row.get("id", UUID.class))
+                            .currency(row.get("currency", String.class))
+                            .balance(row.get("balance", BigDecimal.class))
+                            .build();
+                })
+                .one();
+    }
+
+    private static Account mapAccount(Readable row) {
+        return Account.builder()
+                .id(row.get("id", UUID.class))
+                .userId(row.get("user_id", UUID.class))
+                .currency(row.get("currency", String.class))
+                .balance(row.get("balance", BigDecimal.class))
+                .version(row.get("version", Long.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .build();
+    }
+}
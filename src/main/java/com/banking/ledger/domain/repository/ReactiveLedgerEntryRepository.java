@@ -0,0 +1,107 @@
+package com.banking.ledger.domain.repository;
+
+import com.banking.ledger.domain.model.LedgerEntry;
+import com.banking.ledger.domain.model.Transaction;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Non-blocking account history pages over R2DBC, newest first.
+ *
+ * Transaction columns are joined into each row so rendering a page needs no
+ * further query, and no COUNT(*) is issued. The page is cut from
+ * ledger_entries in a derived table before the join: an index-only range scan
+ * of idx_ledger_account_history that stops after {@code limit} rows. Joining
+ * first lets the planner misjudge the (id, created_at) join, for which it
+ * expects almost no rows, and sort the account's whole history instead.
+ * Matching created_at as well as the id prunes each transaction lookup to a
+ * single partition.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveLedgerEntryRepository {
+
+    static final String SELECT_HISTORY_PAGE = """
+            SELECT e.id, e.account_id, e.amount, e.direction, e.balance_after, e.created_at,
+                   t.id AS transaction_id, t.reference_id, t.type, t.status
+            FROM (SELECT id, account_id, transaction_id, amount, direction, balance_after, created_at
+                  FROM ledger_entries
+                  WHERE account_id = $1
+                  ORDER BY created_at DESC, id DESC
+                  LIMIT $3 OFFSET $2) e
+            JOIN transactions t ON t.id = e.transaction_id AND t.created_at = e.created_at
+            ORDER BY e.created_at DESC, e.id DESC
+            """;
+
+    static final String SELECT_HISTORY_PAGE_BEFORE = """
+            SELECT e.id, e.account_id, e.amount, e.direction, e.balance_after, e.created_at,
+                   t.id AS transaction_id, t.reference_id, t.type, t.status
+            FROM (SELECT id, account_id, transaction_id, amount, direction, balance_after, created_at
+                  FROM ledger_entries
+                  WHERE account_id = $1
+                    AND (created_at, id) < ($2, $3)
+                  ORDER BY created_at DESC, id DESC
+                  LIMIT $4) e
+            JOIN transactions t ON t.id = e.transaction_id AND t.created_at = e.created_at
+            ORDER BY e.created_at DESC, e.id DESC
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Offset page of an account's history.
+     *
+     * @param accountId the account
+     * @param offset    entries to skip
+     * @param limit     page size
+     */
+    public Flux<LedgerHistoryRow> findHistoryPage(UUID accountId, long offset, int limit) {
+        return databaseClient.sql(SELECT_HISTORY_PAGE)
+                .bind(0, accountId)
+                .bind(1, offset)
+                .bind(2, limit)
+                .map(ReactiveLedgerEntryRepository::mapHistoryRow)
+                .all();
+    }
+
+    /**
+     * Keyset page: entries strictly older than the (createdAt, id) position of
+     * the last entry of the previous page.
+     *
+     * @param accountId the account
+     * @param createdAt creation time of the last entry already returned
+     * @param entryId   id of the last entry already returned
+     * @param limit     page size
+     */
+    public Flux<LedgerHistoryRow> findHistoryPageBefore(UUID accountId, LocalDateTime createdAt, UUID entryId,
+            int limit) {
+        return databaseClient.sql(SELECT_HISTORY_PAGE_BEFORE)
+                .bind(0, accountId)
+                .bind(1, createdAt)
+                .bind(2, entryId)
+                .bind(3, limit)
+                .map(ReactiveLedgerEntryRepository::mapHistoryRow)
+                .all();
+    }
+
+    private static LedgerHistoryRow mapHistoryRow(Readable row) {
+        return new LedgerHistoryRow(
+                row.get("id", UUID.class),
+                row.get("account_id", UUID.class),
+                row.get("transaction_id", UUID.class),
+                row.get("reference_id", String.class),
+                Transaction.TransactionType.valueOf(row.get("type", String.class)),
+                Transaction.TransactionStatus.valueOf(row.get("status", String.class)),
+                row.get("amount", BigDecimal.class),
+                LedgerEntry.EntryDirection.valueOf(row.get("direction", String.class)),
+                row.get("balance_after", BigDecimal.class),
+                row.get("created_at", LocalDateTime.class));
+    }
+}
@@ -0,0 +1,66 @@
+package com.banking.ledger.domain.repository;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The R2DBC connection factory behind the reactive read repositories. Reads go
+ * to the primary unless the subscriber's Reactor context names a replica with
+ * {@link #onReplica(String)}, so repositories stay unaware of where they read.
+ */
+public class ReadRoutingConnectionFactory extends AbstractRoutingConnectionFactory implements DisposableBean {
+
+    private static final String REPLICA_KEY = ReadRoutingConnectionFactory.class.getName() + ".replica";
+
+    private final ConnectionFactory primary;
+    private final Map<String, ConnectionFactory> replicas;
+
+    /**
+     * @param primary  connections to the primary, used when no replica is named
+     * @param replicas connections to each read replica, by name
+     */
+    public ReadRoutingConnectionFactory(ConnectionFactory primary, Map<String, ConnectionFactory> replicas) {
+        this.primary = primary;
+        this.replicas = Map.copyOf(replicas);
+        setDefaultTargetConnectionFactory(primary);
+        setTargetConnectionFactories(new HashMap<>(replicas));
+        setLenientFallback(false);
+    }
+
+    /**
+     * Context that routes the reads it is written into to a replica.
+     *
+     * @param replica a name from {@link #replicas()}, or null for the primary
+     */
+    public static Context onReplica(String replica) {
+        return replica == null ? Context.empty() : Context.of(REPLICA_KEY, replica);
+    }
+
+    public Map<String, ConnectionFactory> replicas() {
+        return replicas;
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(context -> Mono.justOrEmpty(context.getOrEmpty(REPLICA_KEY)));
+    }
+
+    @Override
+    public void destroy() {
+        dispose(primary);
+        replicas.values().forEach(ReadRoutingConnectionFactory::dispose);
+    }
+
+    private static void dispose(ConnectionFactory connectionFactory) {
+        if (connectionFactory instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+}
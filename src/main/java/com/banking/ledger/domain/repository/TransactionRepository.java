@@ -1,13 +1,38 @@
 package com.banking.ledger.domain.repository;
 
 import com.banking.ledger.domain.model.Transaction;
+import com.banking.ledger.domain.model.TransactionReference;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
-    Optional<Transaction> findByReferenceId(String referenceId);
+
+    /**
+     * Resolves a reference through transaction_references, then reads the one
+     * partition holding the transaction.
+     */
+    @Query("""
+            SELECT t FROM Transaction t, TransactionReference r
+            WHERE r.referenceId = :referenceId
+              AND t.id = r.transactionId
+              AND t.createdAt = r.createdAt
+            """)
+    Optional<Transaction> findByReferenceId(@Param("referenceId") String referenceId);
+
+    /**
+     * Reads a claimed reference without touching the transactions partitions.
+     */
+    @Query("SELECT r FROM TransactionReference r WHERE r.referenceId = :referenceId")
+    Optional<TransactionReference> findReference(@Param("referenceId") String referenceId);
+
+    @Query("SELECT r.referenceId FROM TransactionReference r WHERE r.referenceId IN :referenceIds")
+    List<String> findExistingReferenceIds(@Param("referenceIds") Collection<String> referenceIds);
 }
@@ -0,0 +1,7 @@
+package com.banking.ledger.exception;
+
+public class BalanceHistoryUnavailableException extends RuntimeException {
+    public BalanceHistoryUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,90 @@
+package com.banking.ledger.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs single postings that touch the same account one after another
+ * in-process. Without this, concurrent postings against a hot account (fees,
+ * settlement, merchants) all reach the database at once and queue on the row
+ * locks of their guarded balance UPDATEs, each holding a pooled connection
+ * while it waits.
+ *
+ * Accounts are hashed onto a fixed set of stripes. A posting holds the stripes
+ * of the one or two accounts it touches for the whole unit of work, including
+ * the commit, and stripes are always taken in ascending index order so two
+ * transfers in opposite directions cannot deadlock. Postings on unrelated
+ * accounts land on different stripes and run in parallel.
+ *
+ * Batches are not sequenced: a large one would hold most stripes for its
+ * whole transaction and stall unrelated postings. They are ordered by the
+ * database instead, through FOR UPDATE or SERIALIZABLE aborts and retries.
+ * Likewise, conflicts with other nodes are resolved by the database.
+ */
+@Component
+public class AccountSequencer {
+
+    private final boolean enabled;
+    private final ReentrantLock[] stripes;
+
+    public AccountSequencer(@Value("${ledger.posting.sequencer.enabled:true}") boolean enabled,
+            @Value("${ledger.posting.sequencer.stripes:1024}") int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Sequencer stripe count must be positive");
+        }
+        this.enabled = enabled;
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Runs work exclusively with respect to other work on the same accounts.
+     *
+     * @param fromAccountId the source account, may be null
+     * @param toAccountId   the destination account, may be null
+     * @param work          the unit of work (normally a full DB transaction)
+     * @return the result of the work
+     */
+    public <T> T execute(UUID fromAccountId, UUID toAccountId, Supplier<T> work) {
+        if (!enabled) {
+            return work.get();
+        }
+        int[] indexes;
+        if (fromAccountId == null || toAccountId == null) {
+            UUID only = fromAccountId != null ? fromAccountId : toAccountId;
+            indexes = only == null ? new int[0] : new int[] { stripeOf(only) };
+        } else {
+            int a = stripeOf(fromAccountId);
+            int b = stripeOf(toAccountId);
+            indexes = a == b ? new int[] { a } : new int[] { Math.min(a, b), Math.max(a, b) };
+        }
+        return runLocked(indexes, work);
+    }
+
+    private <T> T runLocked(int[] indexes, Supplier<T> work) {
+        int locked = 0;
+        try {
+            for (int index : indexes) {
+                stripes[index].lock();
+                locked++;
+            }
+            return work.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                stripes[indexes[i]].unlock();
+            }
+        }
+    }
+
+    int stripeOf(UUID accountId) {
+        long bits = accountId.getMostSignificantBits() ^ accountId.getLeastSignificantBits();
+        int hash = (int) (bits ^ (bits >>> 32));
+        return Math.floorMod(hash ^ (hash >>> 16), stripes.length);
+    }
+}
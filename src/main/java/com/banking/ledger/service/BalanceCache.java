@@ -0,0 +1,108 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.domain.model.Account;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.banking.ledger.service.TransactionCallbacks.registerAfterCommit;
+
+/**
+ * In-process cache of committed account balances for GetBalance.
+ *
+ * Entries are only written from after-commit callbacks and from committed
+ * reads of the primary, so a reader never sees a balance from a transaction
+ * that may still roll back, nor one a lagging replica has yet to catch up on. Writes keep the snapshot with the highest account version, so a
+ * slow read cannot overwrite a newer balance put by a posting.
+ *
+ * Other nodes do not invalidate this cache; expire-after-write bounds how
+ * long a balance changed elsewhere can be served.
+ */
+@Component
+public class BalanceCache {
+
+    private final boolean enabled;
+    private final Cache<UUID, Snapshot> cache;
+    private final Counter balanceCacheHitCounter;
+    private final Counter balanceCacheMissCounter;
+
+    public BalanceCache(
+            @Value("${ledger.balance-cache.enabled:true}") boolean enabled,
+            @Value("${ledger.balance-cache.maximum-size:100000}") long maximumSize,
+            @Value("${ledger.balance-cache.expire-after-write:30s}") Duration expireAfterWrite,
+            Counter balanceCacheHitCounter,
+            Counter balanceCacheMissCounter) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        this.balanceCacheHitCounter = balanceCacheHitCounter;
+        this.balanceCacheMissCounter = balanceCacheMissCounter;
+    }
+
+    /**
+     * Looks up a cached balance, recording a hit or miss.
+     *
+     * @param accountId the account
+     * @return the cached snapshot, if present
+     */
+    public Optional<Snapshot> get(UUID accountId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Snapshot snapshot = cache.getIfPresent(accountId);
+        if (snapshot != null) {
+            balanceCacheHitCounter.increment();
+        } else {
+            balanceCacheMissCounter.increment();
+        }
+        return Optional.ofNullable(snapshot);
+    }
+
+    /**
+     * Caches the balance of an account read from committed state on the
+     * primary.
+     *
+     * @param account the committed account
+     * @return the snapshot that was read
+     */
+    public Snapshot put(Account account) {
+        Snapshot snapshot = Snapshot.of(account);
+        if (enabled) {
+            cache.asMap().merge(snapshot.accountId(), snapshot,
+                    (current, candidate) -> candidate.version() >= current.version() ? candidate : current);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Caches the balance of an account once the current transaction commits.
+     * The account is read at commit time, after the version has been flushed.
+     *
+     * @param account the account changed in the current transaction, may be null
+     */
+    public void putAfterCommit(Account account) {
+        if (enabled && account != null) {
+            registerAfterCommit(() -> put(account));
+        }
+    }
+
+    /**
+     * Committed balance of one account.
+     */
+    public record Snapshot(UUID accountId, String currency, BigDecimal balance, long version) {
+
+        static Snapshot of(Account account) {
+            return new Snapshot(account.getId(), account.getCurrency(), account.getBalance(),
+                    account.getVersion() != null ? account.getVersion() : 0L);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.domain.repository.BalanceCheckpointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically records per-account balance checkpoints for GetBalanceAsOf.
+ *
+ * Every {@code interval} the balances at the latest interval boundary at least
+ * {@code settle-delay} in the past are written for the accounts posted to
+ * since the previous round. Entries are stamped inside their posting
+ * transaction, which times out after {@code ledger.posting.transaction-timeout},
+ * so with that timeout strictly below the settle delay every entry stamped at or
+ * before a round's cutoff has committed or rolled back when the round runs.
+ * Startup fails on a configuration that breaks this. It also assumes node
+ * clocks are kept in sync well within the gap. An advisory lock keeps one node
+ * checkpointing at a time.
+ */
+@Component
+@Slf4j
+public class BalanceCheckpointer implements SmartLifecycle {
+
+    private final BalanceCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration interval;
+    private final Duration settleDelay;
+
+    private volatile boolean running;
+    private Thread checkpointer;
+
+    public BalanceCheckpointer(BalanceCheckpointRepository checkpointRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${ledger.balance-checkpoints.enabled:true}") boolean enabled,
+            @Value("${ledger.balance-checkpoints.interval:1h}") Duration interval,
+            @Value("${ledger.balance-checkpoints.settle-delay:5m}") Duration settleDelay,
+            @Value("${ledger.posting.transaction-timeout:30s}") Duration postingTimeout) {
+        if (interval.toSeconds() < 1 || settleDelay.isNegative()) {
+            throw new IllegalArgumentException("Checkpoint interval must be at least 1s and settle-delay not negative");
+        }
+        if (enabled && postingTimeout.compareTo(settleDelay) >= 0) {
+            // A posting could then commit entries stamped before a round's cutoff after the round has run
+            throw new IllegalArgumentException("Checkpoint settle-delay " + settleDelay
+                    + " must exceed the posting transaction timeout " + postingTimeout);
+        }
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.interval = interval;
+        this.settleDelay = settleDelay;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        checkpointer = new Thread(this::run, "ledger-balance-checkpointer");
+        checkpointer.setDaemon(true);
+        checkpointer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (checkpointer != null) {
+            checkpointer.interrupt();
+            try {
+                checkpointer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                checkpoint(cutoff(LocalDateTime.now()));
+            } catch (Exception e) {
+                log.warn("Balance checkpoint failed: {}", e.getMessage());
+            }
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * The checkpoint time for a round run at {@code now}: now less the settle
+     * delay, rounded down to a multiple of the interval.
+     */
+    LocalDateTime cutoff(LocalDateTime now) {
+        long settled = now.minus(settleDelay).toEpochSecond(ZoneOffset.UTC);
+        long step = interval.toSeconds();
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(settled, step) * step, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Runs one checkpoint round.
+     *
+     * @param asOf the checkpoint time
+     * @return false if another node holds the checkpoint lock
+     */
+    boolean checkpoint(LocalDateTime asOf) {
+        Boolean done = transactionTemplate.execute(status -> {
+            if (!checkpointRepository.tryLockCheckpoints()) {
+                return false;
+            }
+            LocalDateTime latest = checkpointRepository.findLatestAsOf();
+            if (latest == null || latest.isBefore(asOf)) {
+                int written = checkpointRepository.checkpoint(asOf);
+                log.info("Recorded {} balance checkpoints as of {}", written, asOf);
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(done);
+    }
+}
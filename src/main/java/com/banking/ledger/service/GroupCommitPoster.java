@@ -0,0 +1,169 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.domain.model.Transaction;
+import com.banking.ledger.grpc.PostTransactionRequest;
+import com.banking.ledger.grpc.TransactionResponse;
+import io.grpc.Status;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Groups postings from streaming clients into shared database commits.
+ * Postings that arrive within the configured window (or until the group is
+ * full) are committed together through {@link PostingService#postBatch}, so
+ * one commit and one WAL flush are spread across the whole group. Results are
+ * handed back per posting in arrival order.
+ *
+ * On stop, postings already queued are still committed, and new ones are
+ * rejected, including those of callers blocked on a full queue.
+ */
+@Component
+@Slf4j
+public class GroupCommitPoster implements SmartLifecycle {
+
+    private static final String INTERNAL_ERROR_MESSAGE = "Internal server error";
+    private static final long SUBMIT_POLL_MILLIS = 100;
+
+    private final PostingService postingService;
+    private final TransientFailureRetrier retrier;
+    private final long windowNanos;
+    private final int maxGroupSize;
+    private final BlockingQueue<PendingPosting> queue;
+
+    private volatile boolean running;
+    private Thread committer;
+
+    public GroupCommitPoster(PostingService postingService, TransientFailureRetrier retrier,
+            @Value("${ledger.posting.group-commit.window:5ms}") Duration window,
+            @Value("${ledger.posting.group-commit.max-group-size:500}") int maxGroupSize,
+            @Value("${ledger.posting.group-commit.queue-capacity:10000}") int queueCapacity) {
+        this.postingService = postingService;
+        this.retrier = retrier;
+        this.windowNanos = window.toNanos();
+        this.maxGroupSize = maxGroupSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        committer = new Thread(this::run, "ledger-group-commit");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (committer != null) {
+            try {
+                // Drain what is already queued before the datasource goes away
+                committer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Queues a posting for the next group commit. Blocks while the queue is full,
+     * which pushes back on the calling stream.
+     *
+     * @param request  the posting
+     * @param callback receives the result once the group has committed
+     * @throws RejectedExecutionException if the poster is stopped, or stops while
+     *                                    the caller waits; the callback is not called
+     */
+    public void submit(PostTransactionRequest request, Consumer<TransactionResponse> callback)
+            throws InterruptedException {
+        PendingPosting posting = new PendingPosting(request, callback);
+        while (running) {
+            if (queue.offer(posting, SUBMIT_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                // Stopped meanwhile: withdraw it unless the committer has already taken it
+                if (!running && queue.remove(posting)) {
+                    break;
+                }
+                return;
+            }
+        }
+        throw new RejectedExecutionException("Group commit is stopped");
+    }
+
+    private void run() {
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingPosting first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PendingPosting> group = new ArrayList<>(maxGroupSize);
+                group.add(first);
+
+                // Keep collecting until the window closes or the group is full
+                long deadline = System.nanoTime() + windowNanos;
+                while (group.size() < maxGroupSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingPosting next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void commit(List<PendingPosting> group) {
+        List<PostTransactionRequest> requests = new ArrayList<>(group.size());
+        for (PendingPosting pending : group) {
+            requests.add(pending.request());
+        }
+
+        List<TransactionResponse> results;
+        try {
+            results = retrier.execute(() -> postingService.postBatch(requests));
+        } catch (Exception e) {
+            log.error("Group commit failed: items={}", group.size(), e);
+            results = new ArrayList<>(group.size());
+            for (PostTransactionRequest request : requests) {
+                results.add(TransactionResponse.newBuilder()
+                        .setStatus(Transaction.TransactionStatus.FAILED.name())
+                        .setMessage(INTERNAL_ERROR_MESSAGE)
+                        .setReferenceId(request.getReferenceId())
+                        .setErrorCode(Status.Code.INTERNAL.name())
+                        .build());
+            }
+        }
+
+        for (int i = 0; i < group.size(); i++) {
+            try {
+                group.get(i).callback().accept(results.get(i));
+            } catch (Exception e) {
+                log.warn("Failed to deliver posting result: refId={}", results.get(i).getReferenceId(), e);
+            }
+        }
+    }
+
+    private record PendingPosting(PostTransactionRequest request, Consumer<TransactionResponse> callback) {
+    }
+}
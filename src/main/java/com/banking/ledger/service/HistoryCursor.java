@@ -0,0 +1,47 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.exception.InvalidInputException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in an account's history, ordered by (created_at DESC, id DESC).
+ * Handed to clients as an opaque URL-safe string.
+ *
+ * @param createdAt creation time of the last entry returned
+ * @param entryId   id of the last entry returned
+ */
+public record HistoryCursor(LocalDateTime createdAt, UUID entryId) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + entryId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a cursor produced by {@link #encode()}.
+     *
+     * @param cursor the opaque cursor
+     * @return the decoded position
+     * @throws InvalidInputException if the cursor is malformed
+     */
+    public static HistoryCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidInputException("Invalid cursor");
+            }
+            return new HistoryCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidInputException("Invalid cursor");
+        }
+    }
+}
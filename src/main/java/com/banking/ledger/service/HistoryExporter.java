@@ -0,0 +1,175 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.domain.repository.LedgerJdbcRepository;
+import com.banking.ledger.grpc.TransactionSummary;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Streams full ledger history to StreamTransactionHistory clients.
+ *
+ * Each export runs one forward-only query on its own thread and writes rows
+ * to the client as they are fetched. A row is only sent while the call is
+ * ready, so a client that reads slowly stops the database read instead of
+ * piling messages up in server memory. Exports end when the client cancels,
+ * and are aborted if the client stops reading for longer than the stall
+ * timeout, so an idle client cannot hold a connection and snapshot forever.
+ */
+@Component
+@Slf4j
+public class HistoryExporter implements DisposableBean {
+
+    private final LedgerJdbcRepository ledgerJdbcRepository;
+    private final int fetchSize;
+    private final long stallTimeoutNanos;
+    private final ThreadPoolExecutor executor;
+
+    public HistoryExporter(LedgerJdbcRepository ledgerJdbcRepository,
+            @Value("${ledger.history.export.fetch-size:500}") int fetchSize,
+            @Value("${ledger.history.export.max-concurrent:8}") int maxConcurrent,
+            @Value("${ledger.history.export.stall-timeout:60s}") Duration stallTimeout) {
+        this.ledgerJdbcRepository = ledgerJdbcRepository;
+        this.fetchSize = fetchSize;
+        this.stallTimeoutNanos = stallTimeout.toNanos();
+
+        // Every export holds a database connection, so concurrency is capped rather than queued
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(0, maxConcurrent, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+                    thread.setName("ledger-history-export-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Starts an export. Must be called from the RPC method so the flow control
+     * handlers are registered before the call starts.
+     *
+     * @param accountId        the account, or null for every account
+     * @param from             inclusive lower bound, may be null
+     * @param to               exclusive upper bound, may be null
+     * @param responseObserver the server side of the call
+     */
+    public void export(UUID accountId, LocalDateTime from, LocalDateTime to,
+            ServerCallStreamObserver<TransactionSummary> responseObserver) {
+        FlowControl flow = new FlowControl(responseObserver);
+        try {
+            executor.execute(() -> run(accountId, from, to, responseObserver, flow));
+        } catch (RejectedExecutionException e) {
+            responseObserver.onError(Status.RESOURCE_EXHAUSTED
+                    .withDescription("Too many concurrent history exports").asRuntimeException());
+        }
+    }
+
+    private void run(UUID accountId, LocalDateTime from, LocalDateTime to,
+            ServerCallStreamObserver<TransactionSummary> responseObserver, FlowControl flow) {
+        try {
+            long rows = ledgerJdbcRepository.streamHistory(accountId, from, to, fetchSize, row -> {
+                if (!flow.awaitReady()) {
+                    return false;
+                }
+                responseObserver.onNext(TransactionSummaries.of(row));
+                return true;
+            });
+
+            if (flow.cancelled) {
+                log.info("History export cancelled by client after {} rows", rows);
+            } else if (flow.abort != null) {
+                log.warn("History export aborted after {} rows: {}", rows, flow.abort.getDescription());
+                responseObserver.onError(flow.abort.asRuntimeException());
+            } else {
+                responseObserver.onCompleted();
+            }
+        } catch (Exception e) {
+            log.error("History export failed", e);
+            if (!flow.cancelled) {
+                responseObserver.onError(Status.INTERNAL.withDescription("Internal server error").asRuntimeException());
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // Interrupts exports waiting on slow clients; their read transactions roll back
+        executor.shutdownNow();
+    }
+
+    /**
+     * Tracks readiness and cancellation of one call. gRPC reports both through
+     * callbacks, which wake the export thread when it is waiting to send.
+     */
+    private final class FlowControl {
+
+        private final ServerCallStreamObserver<TransactionSummary> responseObserver;
+        private final Lock lock = new ReentrantLock();
+        private final Condition readyOrCancelled = lock.newCondition();
+        private volatile boolean cancelled;
+        private Status abort;
+
+        private FlowControl(ServerCallStreamObserver<TransactionSummary> responseObserver) {
+            this.responseObserver = responseObserver;
+            responseObserver.setOnReadyHandler(this::signal);
+            responseObserver.setOnCancelHandler(() -> {
+                cancelled = true;
+                signal();
+            });
+        }
+
+        /**
+         * Waits until the client can take another message.
+         *
+         * @return false if the export should stop
+         */
+        boolean awaitReady() {
+            if (responseObserver.isReady()) {
+                return !cancelled;
+            }
+            lock.lock();
+            try {
+                long remaining = stallTimeoutNanos;
+                while (!cancelled && !responseObserver.isReady()) {
+                    if (remaining <= 0) {
+                        abort = Status.DEADLINE_EXCEEDED.withDescription("Client stopped reading");
+                        return false;
+                    }
+                    remaining = readyOrCancelled.awaitNanos(remaining);
+                }
+                return !cancelled;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                abort = Status.UNAVAILABLE.withDescription("Server is shutting down");
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void signal() {
+            lock.lock();
+            try {
+                readyOrCancelled.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.grpc.TransactionResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Bounded in-process map from reference ID to the response of the committed
+ * posting that claimed it, so a retried posting can be answered without a
+ * database round trip.
+ *
+ * Only responses of committed postings are stored. They never change, so
+ * entries need no expiry or invalidation; the size bound evicts the least
+ * recently useful ones. transaction_references is the durable copy that a
+ * miss falls back to.
+ */
+@Component
+public class IdempotencyCache {
+
+    private final boolean enabled;
+    private final Cache<String, TransactionResponse> cache;
+    private final Counter idempotencyCacheHitCounter;
+    private final Counter idempotencyCacheMissCounter;
+
+    public IdempotencyCache(
+            @Value("${ledger.idempotency-cache.enabled:true}") boolean enabled,
+            @Value("${ledger.idempotency-cache.maximum-size:100000}") long maximumSize,
+            Counter idempotencyCacheHitCounter,
+            Counter idempotencyCacheMissCounter) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+        this.idempotencyCacheHitCounter = idempotencyCacheHitCounter;
+        this.idempotencyCacheMissCounter = idempotencyCacheMissCounter;
+    }
+
+    /**
+     * Looks up the response of an already committed posting. Lookups are made
+     * for every posting, so only hits are counted here; see {@link #recordMiss}.
+     *
+     * @param referenceId the idempotency key
+     * @return the original response, if cached
+     */
+    public Optional<TransactionResponse> get(String referenceId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        TransactionResponse response = cache.getIfPresent(referenceId);
+        if (response != null) {
+            idempotencyCacheHitCounter.increment();
+        }
+        return Optional.ofNullable(response);
+    }
+
+    /**
+     * Records a duplicate posting that was not cached and was answered from the
+     * database instead.
+     */
+    public void recordMiss() {
+        idempotencyCacheMissCounter.increment();
+    }
+
+    /**
+     * Remembers the response of a committed posting.
+     *
+     * @param referenceId the idempotency key
+     * @param response    the response sent for the original posting
+     */
+    public void put(String referenceId, TransactionResponse response) {
+        if (enabled) {
+            cache.put(referenceId, response);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.domain.event.AccountCreatedEvent;
+import com.banking.ledger.domain.event.LedgerTransactionPostedEvent;
+import com.banking.ledger.domain.event.TransactionFailedEvent;
+import com.banking.ledger.domain.model.Account;
+import com.banking.ledger.domain.model.Transaction;
+import io.micrometer.core.instrument.Counter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+import static com.banking.ledger.service.TransactionCallbacks.registerAfterCommit;
+
+/**
+ * Publishes ledger domain events through the transactional outbox.
+ * Events are written in the surrounding transaction and delivered to Kafka
+ * by {@link OutboxRelay}, so request latency does not depend on Kafka.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerEventPublisher {
+
+    static final String ACCOUNT_CREATED_TOPIC = "banking.account.created";
+    static final String TRANSACTION_POSTED_TOPIC = "banking.ledger.posted";
+    static final String TRANSACTION_FAILED_TOPIC = "banking.transaction.failed";
+
+    private final OutboxWriter outboxWriter;
+    private final Counter transactionSuccessCounter;
+    private final Counter accountCreationCounter;
+
+    public void publishAccountCreated(Account account) {
+        AccountCreatedEvent event = AccountCreatedEvent.builder()
+                .accountId(account.getId())
+                .userId(account.getUserId())
+                .currency(account.getCurrency())
+                .initialBalance(account.getBalance())
+                .build();
+        outboxWriter.append(ACCOUNT_CREATED_TOPIC, account.getId().toString(), event);
+        registerAfterCommit(accountCreationCounter::increment);
+    }
+
+    public void publishTransactionPosted(Transaction transaction, Account fromAccount, Account toAccount,
+            BigDecimal amount, String currency) {
+        LedgerTransactionPostedEvent event = LedgerTransactionPostedEvent.builder()
+                .transactionId(transaction.getId())
+                .referenceId(transaction.getReferenceId())
+                .type(transaction.getType().name())
+                .status(transaction.getStatus().name())
+                .fromAccountId(fromAccount != null ? fromAccount.getId() : null)
+                .toAccountId(toAccount != null ? toAccount.getId() : null)
+                .amount(amount)
+                .currency(currency)
+                .metadata(transaction.getMetadata())
+                .build();
+        outboxWriter.append(TRANSACTION_POSTED_TOPIC, transaction.getId().toString(), event);
+        registerAfterCommit(transactionSuccessCounter::increment);
+    }
+
+    public void publishTransactionFailed(String referenceId, String reason) {
+        if (referenceId != null) {
+            try {
+                outboxWriter.append(TRANSACTION_FAILED_TOPIC, referenceId,
+                        new TransactionFailedEvent(referenceId, reason));
+            } catch (Exception e) {
+                log.error("Failed to record failure event for refId={}", referenceId, e);
+            }
+        }
+    }
+}
@@ -1,15 +1,14 @@
 package com.banking.ledger.service;
 
-import com.banking.ledger.domain.event.AccountCreatedEvent;
-import com.banking.ledger.domain.event.LedgerTransactionPostedEvent;
-import com.banking.ledger.domain.event.TransactionFailedEvent;
 import com.banking.ledger.domain.model.Account;
-import com.banking.ledger.domain.model.LedgerEntry;
 import com.banking.ledger.domain.model.Transaction;
 import com.banking.ledger.domain.repository.AccountRepository;
-import com.banking.ledger.domain.repository.LedgerEntryRepository;
-import com.banking.ledger.domain.repository.TransactionRepository;
+import com.banking.ledger.domain.repository.LedgerHistoryRow;
+import com.banking.ledger.domain.repository.ReactiveAccountRepository;
+import com.banking.ledger.domain.repository.ReactiveLedgerEntryRepository;
+import com.banking.ledger.domain.repository.ReadRoutingConnectionFactory;
 import com.banking.ledger.exception.AccountNotFoundException;
+import com.banking.ledger.exception.BalanceHistoryUnavailableException;
 import com.banking.ledger.exception.CurrencyMismatchException;
 import com.banking.ledger.exception.DuplicateTransactionException;
 import com.banking.ledger.exception.InsufficientFundsException;
@@ -17,22 +16,30 @@ import com.banking.ledger.exception.InvalidInputException;
 import com.banking.ledger.grpc.*;
 import com.banking.ledger.validation.InputValidator;
 import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.server.service.GrpcService;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionSynchronization;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * gRPC service implementation for ledger operations.
@@ -44,14 +51,20 @@ import java.util.UUID;
 public class LedgerServiceImpl extends LedgerServiceGrpc.LedgerServiceImplBase {
 
     private final AccountRepository accountRepository;
-    private final TransactionRepository transactionRepository;
-    private final LedgerEntryRepository ledgerEntryRepository;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ReactiveAccountRepository reactiveAccountRepository;
+    private final ReactiveLedgerEntryRepository reactiveLedgerEntryRepository;
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final PostingService postingService;
+    private final GroupCommitPoster groupCommitPoster;
+    private final HistoryExporter historyExporter;
+    private final AccountSequencer accountSequencer;
+    private final TransientFailureRetrier retrier;
+    private final BalanceCache balanceCache;
+    private final IdempotencyCache idempotencyCache;
+    private final LedgerEventPublisher eventPublisher;
     private final Counter transactionCounter;
-    private final Counter transactionSuccessCounter;
     private final Counter transactionFailureCounter;
     private final Timer transactionTimer;
-    private final Counter accountCreationCounter;
 
     @Override
     @Transactional
@@ -83,17 +96,9 @@ public class LedgerServiceImpl extends LedgerServiceGrpc.LedgerServiceImplBase {
             responseObserver.onNext(response);
             responseObserver.onCompleted();
 
-            // Publish event after transaction commits
-            registerAfterCommit(() -> {
-                AccountCreatedEvent event = AccountCreatedEvent.builder()
-                        .accountId(savedAccount.getId())
-                        .userId(savedAccount.getUserId())
-                        .currency(savedAccount.getCurrency())
-                        .initialBalance(savedAccount.getBalance())
-                        .build();
-                kafkaTemplate.send("banking.account.created", savedAccount.getId().toString(), event);
-                accountCreationCounter.increment();
-            });
+            // Publish event and seed the balance cache after transaction commits
+            eventPublisher.publishAccountCreated(savedAccount);
+            balanceCache.putAfterCommit(savedAccount);
 
         } catch (InvalidInputException e) {
             log.warn("Invalid input for createAccount: {}", e.getMessage());
@@ -108,31 +113,170 @@ public class LedgerServiceImpl extends LedgerServiceGrpc.LedgerServiceImplBase {
     public void getBalance(GetBalanceRequest request, StreamObserver<BalanceResponse> responseObserver) {
         try {
             UUID accountId = InputValidator.validateUUID(request.getAccountId(), "account_id");
+            Lsn minLsn = request.getMinLsn().isEmpty() ? null : Lsn.parse(request.getMinLsn());
+
+            // Cache hits are answered at once; misses are read without holding the calling thread.
+            // A read that must reflect a given posting skips the cache, which may predate it.
+            Mono<BalanceCache.Snapshot> cached = minLsn == null ? Mono.justOrEmpty(balanceCache.get(accountId))
+                    : Mono.empty();
+            Mono<BalanceCache.Snapshot> balance = cached.switchIfEmpty(Mono.defer(() -> {
+                String replica = replicaLagMonitor.route(minLsn);
+                return reactiveAccountRepository.findById(accountId)
+                        .contextWrite(ReadRoutingConnectionFactory.onReplica(replica))
+                        .switchIfEmpty(Mono.error(() -> new AccountNotFoundException("Account not found")))
+                        .map(account -> snapshot(account, replica));
+            }));
+
+            respond(balance.map(LedgerServiceImpl::balanceResponse), responseObserver, "Error getting balance");
 
-            Account account = accountRepository.findById(accountId)
-                    .orElseThrow(() -> new AccountNotFoundException("Account not found"));
+        } catch (InvalidInputException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+        } catch (Exception e) {
+            log.error("Error getting balance", e);
+            responseObserver.onError(Status.INTERNAL.withDescription("Internal server error").asRuntimeException());
+        }
+    }
 
-            BalanceResponse response = BalanceResponse.newBuilder()
+    @Override
+    public void getBalances(GetBalancesRequest request, StreamObserver<GetBalancesResponse> responseObserver) {
+        try {
+            InputValidator.validateBatchSize(request.getAccountIdsCount());
+            Lsn minLsn = request.getMinLsn().isEmpty() ? null : Lsn.parse(request.getMinLsn());
+
+            // Cached balances and malformed IDs are answered at once; the rest are read in one query. Entries are
+            // keyed by the ID as requested, so differently written forms of one account each get an answer.
+            GetBalancesResponse.Builder response = GetBalancesResponse.newBuilder();
+            Map<String, UUID> pending = new LinkedHashMap<>();
+            for (String requested : request.getAccountIdsList()) {
+                if (response.containsBalances(requested) || pending.containsKey(requested)) {
+                    continue; // Repeated in the request
+                }
+                UUID accountId;
+                try {
+                    accountId = InputValidator.validateUUID(requested, "account_id");
+                } catch (InvalidInputException e) {
+                    response.putBalances(requested, failedBalance(requested, Status.Code.INVALID_ARGUMENT,
+                            e.getMessage()));
+                    continue;
+                }
+                Optional<BalanceCache.Snapshot> cached = minLsn == null ? balanceCache.get(accountId)
+                        : Optional.empty();
+                if (cached.isPresent()) {
+                    response.putBalances(requested, balanceResponse(cached.get()));
+                } else {
+                    pending.put(requested, accountId);
+                }
+            }
+
+            Set<UUID> misses = new LinkedHashSet<>(pending.values());
+            Mono<GetBalancesResponse> balances = misses.isEmpty() ? Mono.just(response.build())
+                    : Flux.defer(() -> readSnapshots(misses, minLsn))
+                            .collectMap(BalanceCache.Snapshot::accountId)
+                            .map(found -> {
+                                pending.forEach((requested, accountId) -> {
+                                    BalanceCache.Snapshot snapshot = found.get(accountId);
+                                    response.putBalances(requested, snapshot != null ? balanceResponse(snapshot)
+                                            : failedBalance(requested, Status.Code.NOT_FOUND, "Account not found"));
+                                });
+                                return response.build();
+                            });
+
+            respond(balances, responseObserver, "Error getting balances");
+
+        } catch (InvalidInputException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+        } catch (Exception e) {
+            log.error("Error getting balances", e);
+            responseObserver.onError(Status.INTERNAL.withDescription("Internal server error").asRuntimeException());
+        }
+    }
+
+    private Flux<BalanceCache.Snapshot> readSnapshots(Set<UUID> accountIds, Lsn minLsn) {
+        String replica = replicaLagMonitor.route(minLsn);
+        return reactiveAccountRepository.findAllById(accountIds)
+                .contextWrite(ReadRoutingConnectionFactory.onReplica(replica))
+                .map(account -> snapshot(account, replica));
+    }
+
+    /**
+     * Snapshot of an account read for a balance query, cached only when the
+     * read went to the primary. A replica may lag by up to max-lag, and a
+     * cached balance is served for the full expire-after-write.
+     *
+     * @param replica the replica the read was routed to, or null for the primary
+     */
+    private BalanceCache.Snapshot snapshot(Account account, String replica) {
+        return replica == null ? balanceCache.put(account) : BalanceCache.Snapshot.of(account);
+    }
+
+    private static BalanceResponse balanceResponse(BalanceCache.Snapshot snapshot) {
+        return BalanceResponse.newBuilder()
+                .setAccountId(snapshot.accountId().toString())
+                .setCurrency(snapshot.currency())
+                .setBalance(snapshot.balance().toPlainString())
+                .build();
+    }
+
+    private static BalanceResponse failedBalance(String accountId, Status.Code code, String message) {
+        return BalanceResponse.newBuilder()
+                .setAccountId(accountId)
+                .setErrorCode(code.name())
+                .setMessage(message)
+                .build();
+    }
+
+    @Override
+    public void getBalanceAsOf(GetBalanceAsOfRequest request, StreamObserver<BalanceResponse> responseObserver) {
+        try {
+            UUID accountId = InputValidator.validateUUID(request.getAccountId(), "account_id");
+            LocalDateTime asOf = InputValidator.validateOptionalTimestamp(request.getTimestamp(), "timestamp");
+            if (asOf == null) {
+                throw new InvalidInputException("timestamp is required");
+            }
+            Lsn minLsn = request.getMinLsn().isEmpty() ? null : Lsn.parse(request.getMinLsn());
+
+            Mono<Account> balance = Mono.defer(() -> reactiveAccountRepository.findBalanceAsOf(accountId, asOf)
+                    .contextWrite(ReadRoutingConnectionFactory.onReplica(replicaLagMonitor.route(minLsn))))
+                    .switchIfEmpty(Mono.error(() -> new AccountNotFoundException("Account not found")));
+
+            respond(balance.map(account -> BalanceResponse.newBuilder()
                     .setAccountId(account.getId().toString())
                     .setCurrency(account.getCurrency())
                     .setBalance(account.getBalance().toPlainString())
-                    .build();
-
-            responseObserver.onNext(response);
-            responseObserver.onCompleted();
+                    .build()), responseObserver, "Error getting balance as of");
 
         } catch (InvalidInputException e) {
             responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
-        } catch (AccountNotFoundException e) {
-            responseObserver.onError(Status.NOT_FOUND.withDescription(e.getMessage()).asRuntimeException());
         } catch (Exception e) {
-            log.error("Error getting balance", e);
+            log.error("Error getting balance as of", e);
             responseObserver.onError(Status.INTERNAL.withDescription("Internal server error").asRuntimeException());
         }
     }
 
+    /**
+     * Completes a unary call with the result of a non-blocking read. The
+     * handler returns as soon as the read is subscribed; the response is sent
+     * from the thread that completes it.
+     */
+    private <T> void respond(Mono<T> result, StreamObserver<T> responseObserver, String errorMessage) {
+        result.subscribe(response -> {
+            responseObserver.onNext(response);
+            responseObserver.onCompleted();
+        }, error -> {
+            if (error instanceof AccountNotFoundException) {
+                responseObserver.onError(Status.NOT_FOUND.withDescription(error.getMessage()).asRuntimeException());
+            } else if (error instanceof BalanceHistoryUnavailableException) {
+                responseObserver
+                        .onError(Status.OUT_OF_RANGE.withDescription(error.getMessage()).asRuntimeException());
+            } else {
+                log.error(errorMessage, error);
+                responseObserver
+                        .onError(Status.INTERNAL.withDescription("Internal server error").asRuntimeException());
+            }
+        });
+    }
+
     @Override
-    @Transactional(isolation = Isolation.SERIALIZABLE)
     public void postTransaction(PostTransactionRequest request, StreamObserver<TransactionResponse> responseObserver) {
         Timer.Sample sample = Timer.start();
         transactionCounter.increment();
@@ -140,102 +284,30 @@ public class LedgerServiceImpl extends LedgerServiceGrpc.LedgerServiceImplBase {
         String referenceId = null;
         try {
             // Validate all inputs first
-            InputValidator.validateReferenceId(request.getReferenceId());
-            referenceId = request.getReferenceId();
-
-            BigDecimal amount = InputValidator.validateAmount(request.getAmount());
-            InputValidator.validateCurrency(request.getCurrency());
-            String currency = request.getCurrency().toUpperCase();
-            String sanitizedMetadata = InputValidator.sanitizeMetadata(request.getMetadata());
-
-            Transaction.TransactionType type;
-            try {
-                type = Transaction.TransactionType.valueOf(request.getType().toUpperCase());
-            } catch (IllegalArgumentException e) {
-                throw new InvalidInputException("Invalid transaction type");
-            }
-
-            // Idempotency check
-            if (transactionRepository.findByReferenceId(referenceId).isPresent()) {
-                throw new DuplicateTransactionException("Transaction already processed");
-            }
-
-            UUID fromAccountId = null;
-            UUID toAccountId = null;
-            Account fromAccount = null;
-            Account toAccount = null;
-
-            // Load and validate accounts
-            if (!request.getFromAccountId().isEmpty()) {
-                fromAccountId = InputValidator.validateUUID(request.getFromAccountId(), "from_account_id");
-                fromAccount = accountRepository.findById(fromAccountId)
-                        .orElseThrow(() -> new AccountNotFoundException("Source account not found"));
-                if (!fromAccount.getCurrency().equals(currency)) {
-                    throw new CurrencyMismatchException("Source account currency mismatch");
-                }
-            }
-
-            if (!request.getToAccountId().isEmpty()) {
-                toAccountId = InputValidator.validateUUID(request.getToAccountId(), "to_account_id");
-                toAccount = accountRepository.findById(toAccountId)
-                        .orElseThrow(() -> new AccountNotFoundException("Destination account not found"));
-                if (!toAccount.getCurrency().equals(currency)) {
-                    throw new CurrencyMismatchException("Destination account currency mismatch");
-                }
+            PostingCommand command = PostingCommand.from(request);
+            referenceId = command.getReferenceId();
+
+            // A retried posting that already committed gets its original response
+            Optional<TransactionResponse> replay = idempotencyCache.get(referenceId);
+            if (replay.isPresent()) {
+                replay(referenceId, replay.get(), responseObserver, sample);
+                return;
             }
 
-            // Validate transaction type constraints
-            validateTransactionType(type, fromAccount, toAccount);
-
-            // Create transaction record
-            Transaction transaction = Transaction.builder()
-                    .referenceId(referenceId)
-                    .type(type)
-                    .status(Transaction.TransactionStatus.PENDING)
-                    .metadata(sanitizedMetadata)
-                    .build();
-
-            transaction = transactionRepository.save(transaction);
-
-            // Process the transaction
-            processTransactionLogic(transaction, fromAccount, toAccount, amount);
-            transaction.setStatus(Transaction.TransactionStatus.POSTED);
-            transactionRepository.save(transaction);
+            // Retries wrap the sequencer so stripes are released while backing off
+            Transaction transaction = retrier.execute(() -> accountSequencer.execute(command.getFromAccountId(),
+                    command.getToAccountId(), () -> postingService.post(command)));
 
             log.info("Transaction posted: txId={}, refId={}, type={}, amount=[REDACTED]",
-                    maskUUID(transaction.getId()), referenceId, type);
+                    maskUUID(transaction.getId()), referenceId, command.getType());
 
-            TransactionResponse response = TransactionResponse.newBuilder()
-                    .setTransactionId(transaction.getId().toString())
-                    .setStatus(transaction.getStatus().name())
-                    .setMessage("Transaction completed successfully")
-                    .build();
+            TransactionResponse response = postingService.withCommitLsn(
+                    PostingService.postedResponse(transaction.getId(), transaction.getStatus()));
+            idempotencyCache.put(referenceId, response);
 
             responseObserver.onNext(response);
             responseObserver.onCompleted();
 
-            // Publish success event after commit
-            final Transaction finalTransaction = transaction;
-            final Account finalFromAccount = fromAccount;
-            final Account finalToAccount = toAccount;
-            final BigDecimal finalAmount = amount;
-
-            registerAfterCommit(() -> {
-                LedgerTransactionPostedEvent event = LedgerTransactionPostedEvent.builder()
-                        .transactionId(finalTransaction.getId())
-                        .referenceId(finalTransaction.getReferenceId())
-                        .type(finalTransaction.getType().name())
-                        .status(finalTransaction.getStatus().name())
-                        .fromAccountId(finalFromAccount != null ? finalFromAccount.getId() : null)
-                        .toAccountId(finalToAccount != null ? finalToAccount.getId() : null)
-                        .amount(finalAmount)
-                        .currency(currency)
-                        .metadata(finalTransaction.getMetadata())
-                        .build();
-                kafkaTemplate.send("banking.ledger.posted", finalTransaction.getId().toString(), event);
-                transactionSuccessCounter.increment();
-            });
-
             sample.stop(transactionTimer);
 
         } catch (InvalidInputException e) {
@@ -243,88 +315,222 @@ public class LedgerServiceImpl extends LedgerServiceGrpc.LedgerServiceImplBase {
             sample.stop(transactionTimer);
             responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
         } catch (DuplicateTransactionException e) {
-            sample.stop(transactionTimer);
-            responseObserver.onError(Status.ALREADY_EXISTS.withDescription(e.getMessage()).asRuntimeException());
+            replayDuplicate(referenceId, e, responseObserver, sample);
         } catch (AccountNotFoundException e) {
             transactionFailureCounter.increment();
-            publishFailureEvent(referenceId, e.getMessage());
+            eventPublisher.publishTransactionFailed(referenceId, e.getMessage());
             sample.stop(transactionTimer);
             responseObserver.onError(Status.NOT_FOUND.withDescription(e.getMessage()).asRuntimeException());
         } catch (CurrencyMismatchException e) {
             transactionFailureCounter.increment();
-            publishFailureEvent(referenceId, e.getMessage());
+            eventPublisher.publishTransactionFailed(referenceId, e.getMessage());
             sample.stop(transactionTimer);
             responseObserver.onError(Status.FAILED_PRECONDITION.withDescription(e.getMessage()).asRuntimeException());
         } catch (InsufficientFundsException e) {
             transactionFailureCounter.increment();
-            publishFailureEvent(referenceId, "Insufficient funds");
+            eventPublisher.publishTransactionFailed(referenceId, "Insufficient funds");
             sample.stop(transactionTimer);
             responseObserver
                     .onError(Status.FAILED_PRECONDITION.withDescription("Insufficient funds").asRuntimeException());
         } catch (Exception e) {
             transactionFailureCounter.increment();
             log.error("Transaction failed: refId={}", referenceId, e);
-            publishFailureEvent(referenceId, "Internal error");
+            eventPublisher.publishTransactionFailed(referenceId, "Internal error");
             sample.stop(transactionTimer);
             responseObserver.onError(Status.INTERNAL.withDescription("Internal server error").asRuntimeException());
         }
     }
 
-    private void validateTransactionType(Transaction.TransactionType type, Account fromAccount, Account toAccount) {
-        switch (type) {
-            case TRANSFER:
-                if (fromAccount == null || toAccount == null) {
-                    throw new InvalidInputException("Transfer requires both source and destination accounts");
-                }
-                if (fromAccount.getId().equals(toAccount.getId())) {
-                    throw new InvalidInputException("Cannot transfer to same account");
-                }
-                break;
-            case DEPOSIT:
-                if (toAccount == null) {
-                    throw new InvalidInputException("Deposit requires destination account");
-                }
-                break;
-            case WITHDRAWAL:
-                if (fromAccount == null) {
-                    throw new InvalidInputException("Withdrawal requires source account");
-                }
-                break;
+    /**
+     * Answers a posting whose reference ID is already claimed with the
+     * response of the original posting, or ALREADY_EXISTS if it cannot be read.
+     */
+    private void replayDuplicate(String referenceId, DuplicateTransactionException duplicate,
+            StreamObserver<TransactionResponse> responseObserver, Timer.Sample sample) {
+        idempotencyCache.recordMiss();
+        Optional<TransactionResponse> original;
+        try {
+            original = postingService.findOriginalResponse(referenceId);
+        } catch (Exception e) {
+            log.warn("Could not read original response: refId={}", referenceId, e);
+            original = Optional.empty();
+        }
+        if (original.isPresent()) {
+            idempotencyCache.put(referenceId, original.get());
+            replay(referenceId, original.get(), responseObserver, sample);
+        } else {
+            sample.stop(transactionTimer);
+            responseObserver.onError(Status.ALREADY_EXISTS.withDescription(duplicate.getMessage()).asRuntimeException());
         }
     }
 
-    private void processTransactionLogic(Transaction transaction, Account fromAccount, Account toAccount,
-            BigDecimal amount) {
-        if (fromAccount != null) {
-            // Debit fromAccount with balance check
-            if (fromAccount.getBalance().compareTo(amount) < 0) {
-                throw new InsufficientFundsException("Insufficient funds");
-            }
-            fromAccount.setBalance(fromAccount.getBalance().subtract(amount));
-            accountRepository.save(fromAccount); // Triggers optimistic lock check
+    private void replay(String referenceId, TransactionResponse original,
+            StreamObserver<TransactionResponse> responseObserver, Timer.Sample sample) {
+        log.debug("Replaying response for duplicate posting: refId={}", referenceId);
+        responseObserver.onNext(original);
+        responseObserver.onCompleted();
+        sample.stop(transactionTimer);
+    }
+
+    @Override
+    public void postTransactions(PostTransactionsRequest request,
+            StreamObserver<PostTransactionsResponse> responseObserver) {
+        try {
+            InputValidator.validateBatchSize(request.getTransactionsCount());
+
+            List<PostTransactionRequest> items = request.getTransactionsList();
+            // Batches skip the sequencer; the database orders them against other postings
+            List<TransactionResponse> results = retrier.execute(() -> postingService.postBatch(items));
+            recordBatchMetrics(results);
+            results.forEach(this::rememberPosted);
+
+            responseObserver.onNext(PostTransactionsResponse.newBuilder().addAllResults(results).build());
+            responseObserver.onCompleted();
 
-            createLedgerEntry(transaction, fromAccount, amount.negate(), LedgerEntry.EntryDirection.DEBIT);
+        } catch (InvalidInputException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+        } catch (Exception e) {
+            transactionCounter.increment(request.getTransactionsCount());
+            transactionFailureCounter.increment(request.getTransactionsCount());
+            log.error("Batch posting failed: items={}", request.getTransactionsCount(), e);
+            responseObserver.onError(Status.INTERNAL.withDescription("Internal server error").asRuntimeException());
         }
+    }
 
-        if (toAccount != null) {
-            // Credit toAccount
-            toAccount.setBalance(toAccount.getBalance().add(amount));
-            accountRepository.save(toAccount);
+    @Override
+    public StreamObserver<PostTransactionRequest> streamTransactions(
+            StreamObserver<TransactionResponse> responseObserver) {
+        return new PostingStream(responseObserver);
+    }
 
-            createLedgerEntry(transaction, toAccount, amount, LedgerEntry.EntryDirection.CREDIT);
+    private void recordBatchMetrics(List<TransactionResponse> results) {
+        transactionCounter.increment(results.size());
+        long failures = results.stream().filter(this::isFailure).count();
+        if (failures > 0) {
+            transactionFailureCounter.increment(failures);
         }
     }
 
-    private void createLedgerEntry(Transaction transaction, Account account, BigDecimal amount,
-            LedgerEntry.EntryDirection direction) {
-        LedgerEntry entry = LedgerEntry.builder()
-                .transaction(transaction)
-                .account(account)
-                .amount(amount)
-                .direction(direction)
-                .balanceAfter(account.getBalance())
-                .build();
-        ledgerEntryRepository.save(entry);
+    /**
+     * Caches the response of a committed batch or stream item so a later
+     * retry through postTransaction is replayed from memory.
+     */
+    private void rememberPosted(TransactionResponse result) {
+        if (result.getErrorCode().isEmpty()) {
+            idempotencyCache.put(result.getReferenceId(), result);
+        }
+    }
+
+    /**
+     * Duplicates are not counted as failures, matching postTransaction.
+     */
+    private boolean isFailure(TransactionResponse result) {
+        return !result.getErrorCode().isEmpty()
+                && !Status.Code.ALREADY_EXISTS.name().equals(result.getErrorCode());
+    }
+
+    /**
+     * Server side of a StreamTransactions call. Postings are handed to the
+     * group committer as they arrive and acknowledged in arrival order; the
+     * response stream completes once the client has half-closed and every
+     * posting has been acknowledged.
+     */
+    private final class PostingStream implements StreamObserver<PostTransactionRequest> {
+
+        private final StreamObserver<TransactionResponse> responseObserver;
+        private final Lock lock = new ReentrantLock();
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean halfClosed;
+        private boolean finished;
+
+        private PostingStream(StreamObserver<TransactionResponse> responseObserver) {
+            this.responseObserver = responseObserver;
+        }
+
+        @Override
+        public void onNext(PostTransactionRequest request) {
+            pending.incrementAndGet();
+            try {
+                groupCommitPoster.submit(request, this::acknowledge);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                notSubmitted();
+            } catch (RejectedExecutionException e) {
+                notSubmitted();
+            }
+        }
+
+        /**
+         * Fails the stream for a posting that was never queued. It will not be
+         * acknowledged, so it no longer counts as pending.
+         */
+        private void notSubmitted() {
+            pending.decrementAndGet();
+            fail(Status.UNAVAILABLE.withDescription("Server is shutting down"));
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            // Client went away; postings already queued still commit but acks are dropped
+            log.warn("Posting stream cancelled by client: {}", Status.fromThrowable(t).getCode());
+            lock.lock();
+            try {
+                finished = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void onCompleted() {
+            halfClosed = true;
+            if (pending.get() == 0) {
+                complete();
+            }
+        }
+
+        private void acknowledge(TransactionResponse result) {
+            transactionCounter.increment();
+            if (isFailure(result)) {
+                transactionFailureCounter.increment();
+            }
+            rememberPosted(result);
+            lock.lock();
+            try {
+                if (!finished) {
+                    responseObserver.onNext(result);
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (pending.decrementAndGet() == 0 && halfClosed) {
+                complete();
+            }
+        }
+
+        private void complete() {
+            lock.lock();
+            try {
+                if (!finished) {
+                    finished = true;
+                    responseObserver.onCompleted();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void fail(Status status) {
+            lock.lock();
+            try {
+                if (!finished) {
+                    finished = true;
+                    responseObserver.onError(status.asRuntimeException());
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
     }
 
     @Override
@@ -334,27 +540,23 @@ public class LedgerServiceImpl extends LedgerServiceGrpc.LedgerServiceImplBase {
             UUID accountId = InputValidator.validateUUID(request.getAccountId(), "account_id");
             int pageSize = InputValidator.validatePagination(request.getPage(),
                     request.getSize() > 0 ? request.getSize() : 20);
-
-            Page<LedgerEntry> page = ledgerEntryRepository.findByAccountIdOrderByCreatedAtDesc(
-                    accountId, PageRequest.of(request.getPage(), pageSize));
-
-            TransactionHistoryResponse.Builder historyBuilder = TransactionHistoryResponse.newBuilder();
-
-            for (LedgerEntry entry : page.getContent()) {
-                historyBuilder.addTransactions(TransactionSummary.newBuilder()
-                        .setTransactionId(entry.getTransaction().getId().toString())
-                        .setType(entry.getTransaction().getType().name())
-                        .setAmount(entry.getAmount().abs().toPlainString())
-                        .setDirection(entry.getDirection().name())
-                        .setStatus(entry.getTransaction().getStatus().name())
-                        .setCreatedAt(entry.getCreatedAt().toString())
-                        .setBalanceAfter(entry.getBalanceAfter().toPlainString())
-                        .setReferenceId(entry.getTransaction().getReferenceId())
-                        .build());
+            Lsn minLsn = request.getMinLsn().isEmpty() ? null : Lsn.parse(request.getMinLsn());
+
+            // Keyset paging when a cursor is given; offset paging is kept for older clients
+            Flux<LedgerHistoryRow> rows;
+            if (!request.getCursor().isEmpty()) {
+                HistoryCursor cursor = HistoryCursor.decode(request.getCursor());
+                rows = reactiveLedgerEntryRepository.findHistoryPageBefore(accountId, cursor.createdAt(),
+                        cursor.entryId(), pageSize);
+            } else {
+                rows = reactiveLedgerEntryRepository.findHistoryPage(accountId, (long) request.getPage() * pageSize,
+                        pageSize);
             }
 
-            responseObserver.onNext(historyBuilder.build());
-            responseObserver.onCompleted();
+            respond(rows.collectList()
+                    .map(page -> historyPage(page, pageSize))
+                    .contextWrite(ReadRoutingConnectionFactory.onReplica(replicaLagMonitor.route(minLsn))),
+                    responseObserver, "Error getting transaction history");
 
         } catch (InvalidInputException e) {
             responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
@@ -364,36 +566,41 @@ public class LedgerServiceImpl extends LedgerServiceGrpc.LedgerServiceImplBase {
         }
     }
 
-    /**
-     * Registers a callback to execute after the current transaction commits.
-     * This ensures Kafka events are only published after successful DB commit.
-     */
-    private void registerAfterCommit(Runnable callback) {
-        if (TransactionSynchronizationManager.isSynchronizationActive()) {
-            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                @Override
-                public void afterCommit() {
-                    try {
-                        callback.run();
-                    } catch (Exception e) {
-                        log.error("Error in after-commit callback", e);
-                    }
-                }
-            });
-        } else {
-            // No active transaction, execute immediately
-            callback.run();
+    private static TransactionHistoryResponse historyPage(List<LedgerHistoryRow> rows, int pageSize) {
+        TransactionHistoryResponse.Builder historyBuilder = TransactionHistoryResponse.newBuilder();
+        for (LedgerHistoryRow row : rows) {
+            historyBuilder.addTransactions(TransactionSummaries.of(row));
+        }
+
+        // A full page may have more behind it; the last page comes back short
+        if (rows.size() == pageSize) {
+            LedgerHistoryRow last = rows.get(rows.size() - 1);
+            historyBuilder.setNextCursor(new HistoryCursor(last.createdAt(), last.entryId()).encode());
         }
+        return historyBuilder.build();
     }
 
-    private void publishFailureEvent(String referenceId, String reason) {
-        if (referenceId != null) {
-            try {
-                kafkaTemplate.send("banking.transaction.failed", referenceId,
-                        new TransactionFailedEvent(referenceId, reason));
-            } catch (Exception e) {
-                log.error("Failed to publish failure event for refId={}", referenceId, e);
+    @Override
+    public void streamTransactionHistory(StreamHistoryRequest request,
+            StreamObserver<TransactionSummary> responseObserver) {
+        try {
+            UUID accountId = request.getAccountId().isEmpty() ? null
+                    : InputValidator.validateUUID(request.getAccountId(), "account_id");
+            LocalDateTime from = InputValidator.validateOptionalTimestamp(request.getFrom(), "from");
+            LocalDateTime to = InputValidator.validateOptionalTimestamp(request.getTo(), "to");
+            InputValidator.validateTimeRange(from, to);
+            if (accountId == null && (from == null || to == null)) {
+                throw new InvalidInputException("account_id or both from and to are required");
             }
+
+            historyExporter.export(accountId, from, to,
+                    (ServerCallStreamObserver<TransactionSummary>) responseObserver);
+
+        } catch (InvalidInputException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+        } catch (Exception e) {
+            log.error("Error starting history export", e);
+            responseObserver.onError(Status.INTERNAL.withDescription("Internal server error").asRuntimeException());
         }
     }
 
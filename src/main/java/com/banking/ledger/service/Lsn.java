@@ -0,0 +1,47 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.exception.InvalidInputException;
+
+import java.util.regex.Pattern;
+
+/**
+ * A PostgreSQL write-ahead log position, as returned by pg_current_wal_lsn()
+ * and friends. Handed to clients in its text form, {@code 16/B374D848}.
+ *
+ * @param value the 64-bit position, compared unsigned
+ */
+public record Lsn(long value) implements Comparable<Lsn> {
+
+    private static final Pattern TEXT_FORM = Pattern.compile("^[0-9A-Fa-f]{1,8}/[0-9A-Fa-f]{1,8}$");
+
+    /**
+     * Parses the text form of an LSN.
+     *
+     * @param text two hexadecimal halves separated by a slash
+     * @return the position
+     * @throws InvalidInputException if the text is malformed
+     */
+    public static Lsn parse(String text) {
+        if (!TEXT_FORM.matcher(text).matches()) {
+            throw new InvalidInputException("Invalid LSN");
+        }
+        int separator = text.indexOf('/');
+        long high = Long.parseLong(text, 0, separator, 16);
+        long low = Long.parseLong(text, separator + 1, text.length(), 16);
+        return new Lsn(high << 32 | low);
+    }
+
+    public boolean isAtLeast(Lsn other) {
+        return compareTo(other) >= 0;
+    }
+
+    @Override
+    public int compareTo(Lsn other) {
+        return Long.compareUnsigned(value, other.value);
+    }
+
+    @Override
+    public String toString() {
+        return Long.toHexString(value >>> 32).toUpperCase() + "/" + Long.toHexString(value & 0xFFFFFFFFL).toUpperCase();
+    }
+}
@@ -0,0 +1,277 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.domain.event.AccountCreatedEvent;
+import com.banking.ledger.domain.event.LedgerTransactionPostedEvent;
+import com.banking.ledger.domain.event.OutboxEvent;
+import com.banking.ledger.domain.event.TransactionFailedEvent;
+import com.banking.ledger.domain.repository.OutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Publishes outbox events to Kafka from a dedicated thread.
+ *
+ * Each round reads the oldest unsent events in write order, sends them all
+ * without waiting so the producer can batch them, then waits for the acks and
+ * marks the acknowledged prefix as sent in a short transaction of its own.
+ * Anything not acknowledged is sent again next round, so delivery is at least
+ * once and a failed send never lets a later event overtake it.
+ *
+ * One node relays at a time, holding a session-level advisory lock on a
+ * dedicated connection from round to round. No transaction is open while the
+ * relay waits on Kafka, so a slow broker does not hold back vacuum of the
+ * outbox or tie up a pooled connection mid-transaction. The node holding the
+ * lock also purges published events past their retention.
+ */
+@Component
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final Map<String, Class<?>> EVENT_TYPES = Stream.of(
+            AccountCreatedEvent.class,
+            LedgerTransactionPostedEvent.class,
+            TransactionFailedEvent.class)
+            .collect(Collectors.toMap(Class::getSimpleName, Function.identity()));
+
+    private static final long PURGE_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final OutboxRepository outboxRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration sendTimeout;
+    private final Duration retention;
+    private final Counter outboxRelayedCounter;
+    private final Counter outboxRelayFailureCounter;
+
+    private volatile boolean running;
+    private Thread relay;
+    private OutboxRepository.RelayLock relayLock; // Only touched by the relay thread
+
+    public OutboxRelay(OutboxRepository outboxRepository, KafkaTemplate<String, Object> kafkaTemplate,
+            ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+            @Value("${ledger.outbox.relay.batch-size:500}") int batchSize,
+            @Value("${ledger.outbox.relay.poll-interval:100ms}") Duration pollInterval,
+            @Value("${ledger.outbox.relay.send-timeout:30s}") Duration sendTimeout,
+            @Value("${ledger.outbox.retention:24h}") Duration retention,
+            Counter outboxRelayedCounter,
+            Counter outboxRelayFailureCounter) {
+        this.outboxRepository = outboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.sendTimeout = sendTimeout;
+        this.retention = retention;
+        this.outboxRelayedCounter = outboxRelayedCounter;
+        this.outboxRelayFailureCounter = outboxRelayFailureCounter;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        relay = new Thread(this::run, "ledger-outbox-relay");
+        relay.setDaemon(true);
+        relay.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (relay != null) {
+            relay.interrupt();
+            try {
+                relay.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        try {
+            relayUntilStopped();
+        } finally {
+            releaseRelayLock();
+        }
+    }
+
+    private void relayUntilStopped() {
+        long lastPurge = System.nanoTime();
+        while (running) {
+            try {
+                int relayed = relayBatch();
+                if (System.nanoTime() - lastPurge > PURGE_INTERVAL_NANOS) {
+                    purge();
+                    lastPurge = System.nanoTime();
+                }
+                // A full batch means there is probably more waiting
+                if (relayed < batchSize) {
+                    Thread.sleep(pollInterval);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                outboxRelayFailureCounter.increment();
+                log.warn("Outbox relay round failed: {}", e.getMessage());
+                try {
+                    Thread.sleep(pollInterval.multipliedBy(10));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs one relay round.
+     *
+     * @return the number of events published and marked as sent
+     */
+    int relayBatch() {
+        if (!holdsRelayLock()) {
+            return 0;
+        }
+        List<OutboxEvent> events = outboxRepository.findUnsent(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        List<Long> delivered = publish(events);
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.markSent(delivered));
+        outboxRelayedCounter.increment(delivered.size());
+        return delivered.size();
+    }
+
+    /**
+     * Keeps the relay lock from round to round, taking it if no node holds it
+     * and noticing when the session holding it is gone.
+     */
+    private boolean holdsRelayLock() {
+        if (relayLock != null && !relayLock.isHeld()) {
+            log.warn("Outbox relay lock lost with its connection");
+            releaseRelayLock();
+        }
+        if (relayLock == null) {
+            relayLock = outboxRepository.tryLockRelay().orElse(null);
+            if (relayLock != null) {
+                log.info("Outbox relay lock taken; relaying from this node");
+            }
+        }
+        return relayLock != null;
+    }
+
+    private void releaseRelayLock() {
+        if (relayLock != null) {
+            relayLock.close();
+            relayLock = null;
+        }
+    }
+
+    /**
+     * Sends every event, then waits for acks in order.
+     *
+     * @return ids of the longest prefix of events that were acknowledged
+     */
+    private List<Long> publish(List<OutboxEvent> events) {
+        List<Long> ids = new ArrayList<>(events.size());
+        List<CompletableFuture<?>> acks = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            Object payload = decode(event);
+            if (payload == null) {
+                ids.add(event.id());
+                acks.add(CompletableFuture.completedFuture(null));
+                continue;
+            }
+            try {
+                acks.add(kafkaTemplate.send(event.topic(), event.key(), payload));
+                ids.add(event.id());
+            } catch (RuntimeException e) {
+                log.warn("Outbox send rejected at id={}: {}", event.id(), e.getMessage());
+                break;
+            }
+        }
+
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        int acknowledged = 0;
+        for (CompletableFuture<?> ack : acks) {
+            try {
+                ack.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                acknowledged++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                outboxRelayFailureCounter.increment();
+                log.warn("Outbox publish failed at id={}: {}", ids.get(acknowledged), e.getMessage());
+                break;
+            }
+        }
+        return ids.subList(0, acknowledged);
+    }
+
+    /**
+     * Rebuilds the event object so it goes out through the configured Kafka
+     * serializer exactly as a direct send would.
+     *
+     * @return the event, or null if it can never be decoded
+     */
+    private Object decode(OutboxEvent event) {
+        Class<?> type = EVENT_TYPES.get(event.eventType());
+        try {
+            if (type != null) {
+                return objectMapper.readValue(event.payload(), type);
+            }
+        } catch (IOException e) {
+            log.error("Undecodable outbox payload id={}", event.id(), e);
+        }
+        // Retrying cannot help and would block every later event
+        log.error("Skipping outbox event id={} of type {}", event.id(), event.eventType());
+        outboxRelayFailureCounter.increment();
+        return null;
+    }
+
+    /**
+     * Deletes published events past their retention, on the node holding the
+     * relay lock only.
+     */
+    void purge() {
+        if (!holdsRelayLock()) {
+            return;
+        }
+        int deleted = outboxRepository.deleteSentBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Purged {} published outbox events", deleted);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.domain.event.OutboxEvent;
+import com.banking.ledger.domain.repository.OutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes domain events to the outbox in the caller's database transaction, so
+ * an event exists if and only if the change it describes was committed.
+ *
+ * Events appended during a transaction are buffered and inserted as one batch
+ * just before it commits; a batch posting writes its events in one round trip.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Appends an event to the outbox. Outside a transaction it is inserted
+     * immediately.
+     *
+     * @param topic the Kafka topic
+     * @param key   the Kafka record key
+     * @param event the event, serialized as JSON
+     */
+    public void append(String topic, String key, Object event) {
+        OutboxEvent outboxEvent = new OutboxEvent(null, topic, key, event.getClass().getSimpleName(),
+                serialize(event));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            outboxRepository.insert(List.of(outboxEvent));
+            return;
+        }
+        currentBuffer().add(outboxEvent);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OutboxEvent> currentBuffer() {
+        List<OutboxEvent> buffer = (List<OutboxEvent>) TransactionSynchronizationManager.getResource(this);
+        if (buffer != null) {
+            return buffer;
+        }
+        List<OutboxEvent> created = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                outboxRepository.insert(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(OutboxWriter.this);
+            }
+        });
+        return created;
+    }
+
+    private String serialize(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
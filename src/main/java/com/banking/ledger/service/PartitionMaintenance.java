@@ -0,0 +1,201 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.domain.repository.BalanceCheckpointRepository;
+import com.banking.ledger.domain.repository.PartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the monthly partitions of transactions and ledger_entries ahead of
+ * the clock and optionally detaches old ones.
+ *
+ * Partitions for the current month and the next {@code premake-months} are
+ * created on start and then every {@code interval}, so inserts never find a
+ * missing partition. With a positive {@code retention-months}, partitions
+ * entirely older than that many months are detached: a catalog-only change
+ * that leaves the rows in a standalone table for archiving. A month is only
+ * detached once a balance checkpoint round is at or after its end, and the
+ * first such round becomes the earliest time as-of balances are answered for:
+ * replays from then on start at checkpoints that already sum the detached
+ * rows, while earlier times would need them. An advisory lock keeps one node
+ * maintaining at a time.
+ */
+@Component
+@Slf4j
+public class PartitionMaintenance implements SmartLifecycle {
+
+    static final List<String> PARTITIONED_TABLES = List.of("transactions", "ledger_entries");
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("'_p'uuuu_MM");
+
+    private final PartitionRepository partitionRepository;
+    private final BalanceCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration interval;
+    private final int premakeMonths;
+    private final int retentionMonths;
+
+    private volatile boolean running;
+    private Thread maintainer;
+
+    public PartitionMaintenance(PartitionRepository partitionRepository,
+            BalanceCheckpointRepository checkpointRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${ledger.partitions.maintenance.enabled:true}") boolean enabled,
+            @Value("${ledger.partitions.maintenance.interval:1h}") Duration interval,
+            @Value("${ledger.partitions.premake-months:3}") int premakeMonths,
+            @Value("${ledger.partitions.retention-months:0}") int retentionMonths) {
+        if (premakeMonths < 0 || retentionMonths < 0) {
+            throw new IllegalArgumentException("Partition month counts must not be negative");
+        }
+        this.partitionRepository = partitionRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.interval = interval;
+        this.premakeMonths = premakeMonths;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        maintainer = new Thread(this::run, "ledger-partition-maintenance");
+        maintainer.setDaemon(true);
+        maintainer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (maintainer != null) {
+            maintainer.interrupt();
+            try {
+                maintainer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                maintain(YearMonth.now(ZoneOffset.UTC));
+            } catch (Exception e) {
+                log.warn("Partition maintenance failed: {}", e.getMessage());
+            }
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Runs one maintenance round.
+     *
+     * @param current the current month in UTC, the zone of the partition bounds
+     * @return false if another node holds the maintenance lock
+     */
+    boolean maintain(YearMonth current) {
+        Boolean done = transactionTemplate.execute(status -> {
+            if (!partitionRepository.tryLockMaintenance()) {
+                return false;
+            }
+            YearMonth oldestKept = retentionMonths > 0 ? oldestKept(current.minusMonths(retentionMonths)) : null;
+            for (String table : PARTITIONED_TABLES) {
+                for (int ahead = 0; ahead <= premakeMonths; ahead++) {
+                    partitionRepository.createMonthlyPartition(table, current.plusMonths(ahead));
+                }
+                boolean detached = oldestKept != null && detachOlderThan(table, oldestKept);
+                if (detached && table.equals("ledger_entries")) {
+                    // In the same transaction, so no as-of read sees the rows gone but the horizon unmoved
+                    checkpointRepository.raiseAsOfHorizon(oldestKept.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+                }
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(done);
+    }
+
+    /**
+     * The oldest month to keep attached: the retention limit, held back to the
+     * month of the latest balance checkpoint round, so that a round at or after
+     * the start of the oldest month kept exists to answer as-of balances from.
+     *
+     * @return the month, or null to keep every month before the first round
+     */
+    private YearMonth oldestKept(YearMonth retained) {
+        Instant checkpointed = checkpointRepository.findCheckpointedThrough();
+        if (checkpointed == null) {
+            log.warn("Not detaching partitions before the first balance checkpoint round");
+            return null;
+        }
+        YearMonth checkpointedMonth = YearMonth.from(checkpointed.atOffset(ZoneOffset.UTC));
+        if (checkpointedMonth.isBefore(retained)) {
+            log.warn("Keeping partitions from {} on, the month of the latest balance checkpoint {}",
+                    checkpointedMonth, checkpointed);
+            return checkpointedMonth;
+        }
+        return retained;
+    }
+
+    /**
+     * Detaches the partitions of a table entirely older than a month.
+     *
+     * @return true if any partition was detached
+     */
+    private boolean detachOlderThan(String table, YearMonth oldestKept) {
+        boolean detached = false;
+        for (String partition : partitionRepository.findPartitions(table)) {
+            YearMonth month = monthOf(table, partition);
+            if (month != null && month.isBefore(oldestKept)) {
+                partitionRepository.detachPartition(table, partition);
+                log.info("Detached partition {} from {}", partition, table);
+                detached = true;
+            }
+        }
+        return detached;
+    }
+
+    /**
+     * Parses the month from a {@code <table>_pYYYY_MM} partition name.
+     *
+     * @return the month, or null for a partition not named by this component
+     */
+    static YearMonth monthOf(String table, String partition) {
+        if (!partition.startsWith(table)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(table.length()), SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
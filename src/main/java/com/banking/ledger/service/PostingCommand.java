@@ -0,0 +1,57 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.domain.model.Transaction;
+import com.banking.ledger.exception.InvalidInputException;
+import com.banking.ledger.grpc.PostTransactionRequest;
+import com.banking.ledger.validation.InputValidator;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A fully validated posting request.
+ * Built from the wire request so the single, batch and streaming paths share
+ * one set of input checks.
+ */
+@Value
+public class PostingCommand {
+
+    String referenceId;
+    Transaction.TransactionType type;
+    UUID fromAccountId; // Null for DEPOSIT
+    UUID toAccountId; // Null for WITHDRAWAL
+    BigDecimal amount;
+    String currency;
+    String metadata;
+
+    /**
+     * Validates a PostTransactionRequest.
+     *
+     * @param request the wire request
+     * @return the validated command
+     * @throws InvalidInputException if any field is invalid
+     */
+    public static PostingCommand from(PostTransactionRequest request) {
+        InputValidator.validateReferenceId(request.getReferenceId());
+
+        BigDecimal amount = InputValidator.validateAmount(request.getAmount());
+        InputValidator.validateCurrency(request.getCurrency());
+        String sanitizedMetadata = InputValidator.sanitizeMetadata(request.getMetadata());
+
+        Transaction.TransactionType type;
+        try {
+            type = Transaction.TransactionType.valueOf(request.getType().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException("Invalid transaction type");
+        }
+
+        UUID fromAccountId = request.getFromAccountId().isEmpty() ? null
+                : InputValidator.validateUUID(request.getFromAccountId(), "from_account_id");
+        UUID toAccountId = request.getToAccountId().isEmpty() ? null
+                : InputValidator.validateUUID(request.getToAccountId(), "to_account_id");
+
+        return new PostingCommand(request.getReferenceId(), type, fromAccountId, toAccountId, amount,
+                request.getCurrency().toUpperCase(), sanitizedMetadata);
+    }
+}
@@ -0,0 +1,38 @@
+package com.banking.ledger.service;
+
+import org.springframework.transaction.annotation.Isolation;
+
+/**
+ * How batch postings guard against concurrent changes to the accounts they
+ * read. Selected with {@code ledger.posting.mode}.
+ */
+public enum PostingMode {
+
+    /**
+     * Accounts are read without locks at SERIALIZABLE. A conflicting batch is
+     * aborted by PostgreSQL with a serialization failure and retried.
+     */
+    SERIALIZABLE(Isolation.SERIALIZABLE, false),
+
+    /**
+     * Accounts are read with {@code SELECT ... FOR UPDATE} in ID order at READ
+     * COMMITTED. Conflicting batches wait for each other instead of aborting.
+     */
+    LOCKING(Isolation.READ_COMMITTED, true);
+
+    private final Isolation isolation;
+    private final boolean locksAccounts;
+
+    PostingMode(Isolation isolation, boolean locksAccounts) {
+        this.isolation = isolation;
+        this.locksAccounts = locksAccounts;
+    }
+
+    public Isolation isolation() {
+        return isolation;
+    }
+
+    public boolean locksAccounts() {
+        return locksAccounts;
+    }
+}
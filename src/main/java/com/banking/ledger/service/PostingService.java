@@ -0,0 +1,501 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.domain.model.Account;
+import com.banking.ledger.domain.model.LedgerEntry;
+import com.banking.ledger.domain.model.Transaction;
+import com.banking.ledger.domain.repository.AccountRepository;
+import com.banking.ledger.domain.repository.LedgerJdbcRepository;
+import com.banking.ledger.domain.repository.TransactionRepository;
+import com.banking.ledger.exception.AccountNotFoundException;
+import com.banking.ledger.exception.CurrencyMismatchException;
+import com.banking.ledger.exception.DuplicateTransactionException;
+import com.banking.ledger.exception.InsufficientFundsException;
+import com.banking.ledger.exception.InvalidInputException;
+import com.banking.ledger.grpc.PostTransactionRequest;
+import com.banking.ledger.grpc.TransactionResponse;
+import io.grpc.Status;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Transactional unit of work for posting transactions to the ledger.
+ * Kept separate from the gRPC layer so the transaction commits before a
+ * response is sent.
+ *
+ * Every posting transaction runs under {@code transaction-timeout}, so a
+ * posting either commits within that long of stamping its rows or rolls back.
+ * {@link BalanceCheckpointer} relies on this bound.
+ */
+@Service
+@Slf4j
+public class PostingService {
+
+    static final String SUCCESS_MESSAGE = "Transaction completed successfully";
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final LedgerJdbcRepository ledgerJdbcRepository;
+    private final LedgerEventPublisher eventPublisher;
+    private final BalanceCache balanceCache;
+    private final ReferenceFilter referenceFilter;
+    private final PlatformTransactionManager transactionManager;
+    private final PostingMode postingMode;
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final int transactionTimeoutSeconds;
+
+    public PostingService(AccountRepository accountRepository,
+            TransactionRepository transactionRepository,
+            LedgerJdbcRepository ledgerJdbcRepository,
+            LedgerEventPublisher eventPublisher,
+            BalanceCache balanceCache,
+            ReferenceFilter referenceFilter,
+            PlatformTransactionManager transactionManager,
+            PostingMode postingMode,
+            ReplicaLagMonitor replicaLagMonitor,
+            @Value("${ledger.posting.transaction-timeout:30s}") Duration transactionTimeout) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.ledgerJdbcRepository = ledgerJdbcRepository;
+        this.eventPublisher = eventPublisher;
+        this.balanceCache = balanceCache;
+        this.referenceFilter = referenceFilter;
+        this.transactionManager = transactionManager;
+        this.postingMode = postingMode;
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.transactionTimeoutSeconds = timeoutSeconds(transactionTimeout);
+    }
+
+    /**
+     * A posting transaction timeout in the whole seconds Spring applies.
+     *
+     * @throws IllegalArgumentException unless it is a positive number of seconds
+     */
+    static int timeoutSeconds(Duration transactionTimeout) {
+        if (transactionTimeout.toSeconds() < 1 || transactionTimeout.toNanos() % 1_000_000_000L != 0) {
+            throw new IllegalArgumentException("Posting transaction timeout must be a whole number of seconds");
+        }
+        return Math.toIntExact(transactionTimeout.toSeconds());
+    }
+
+    /**
+     * Posts a single transaction.
+     *
+     * Each leg is one guarded UPDATE that checks and changes the balance in the
+     * database, so the posting needs no account reads and no stricter isolation
+     * than read committed: a debit that would overdraw simply matches no row.
+     * Legs are applied in {@link AccountRepository#LOCK_ORDER}, so two postings
+     * over the same accounts lock the rows in the same order and cannot deadlock.
+     *
+     * @param command the validated posting
+     * @return the posted transaction
+     * @throws DuplicateTransactionException if the reference ID was already used
+     * @throws AccountNotFoundException      if a referenced account does not exist
+     * @throws CurrencyMismatchException     if an account has another currency
+     * @throws InsufficientFundsException    if the source balance is too low
+     */
+    public Transaction post(PostingCommand command) {
+        return postingTransaction(TransactionDefinition.ISOLATION_DEFAULT).execute(status -> postInTransaction(command));
+    }
+
+    private Transaction postInTransaction(PostingCommand command) {
+        UUID fromAccountId = command.getFromAccountId();
+        UUID toAccountId = command.getToAccountId();
+        validateTransactionType(command.getType(), fromAccountId, toAccountId);
+
+        // Claim the idempotency key first; a reused key fails here before any account is touched.
+        // The row is only committed once posted, so it is inserted as POSTED rather than updated later.
+        Transaction transaction = Transaction.builder()
+                .referenceId(command.getReferenceId())
+                .type(command.getType())
+                .status(Transaction.TransactionStatus.POSTED)
+                .metadata(command.getMetadata())
+                .build();
+        claimReference(transaction);
+
+        boolean debitFirst = toAccountId == null
+                || (fromAccountId != null && AccountRepository.LOCK_ORDER.compare(fromAccountId, toAccountId) < 0);
+        Account fromAccount = debitFirst ? debit(command) : null;
+        Account toAccount = toAccountId == null ? null : credit(command);
+        if (!debitFirst && fromAccountId != null) {
+            fromAccount = debit(command);
+        }
+
+        // Both entries go out in one batch, carrying the balances the updates returned
+        List<LedgerEntry> entries = new ArrayList<>(2);
+        if (fromAccount != null) {
+            entries.add(createLedgerEntry(transaction, fromAccount, command.getAmount().negate(),
+                    LedgerEntry.EntryDirection.DEBIT));
+        }
+        if (toAccount != null) {
+            entries.add(createLedgerEntry(transaction, toAccount, command.getAmount(),
+                    LedgerEntry.EntryDirection.CREDIT));
+        }
+        entries.forEach(LedgerEntry::prePersist);
+        ledgerJdbcRepository.insertLedgerEntries(entries);
+
+        eventPublisher.publishTransactionPosted(transaction, fromAccount, toAccount, command.getAmount(),
+                command.getCurrency());
+        balanceCache.putAfterCommit(fromAccount);
+        balanceCache.putAfterCommit(toAccount);
+        referenceFilter.putAllAfterCommit(List.of(transaction.getReferenceId()));
+        return transaction;
+    }
+
+    private Account debit(PostingCommand command) {
+        return ledgerJdbcRepository.debit(command.getFromAccountId(), command.getCurrency(), command.getAmount())
+                .orElseThrow(() -> rejectedLeg(command.getFromAccountId(), "Source", command.getCurrency()));
+    }
+
+    private Account credit(PostingCommand command) {
+        return ledgerJdbcRepository.credit(command.getToAccountId(), command.getCurrency(), command.getAmount())
+                .orElseThrow(() -> rejectedLeg(command.getToAccountId(), "Destination", command.getCurrency()));
+    }
+
+    /**
+     * Explains a guarded update that matched no row. Only this failure path
+     * reads the account; a credit is only ever rejected for a missing account
+     * or another currency, a debit also for too low a balance.
+     */
+    private RuntimeException rejectedLeg(UUID accountId, String role, String currency) {
+        requireAccount(accountRepository.findById(accountId), role, currency);
+        return new InsufficientFundsException("Insufficient funds");
+    }
+
+    private TransactionTemplate postingTransaction(int isolationLevel) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setIsolationLevel(isolationLevel);
+        transaction.setTimeout(transactionTimeoutSeconds);
+        return transaction;
+    }
+
+    /**
+     * Reads the response of the committed posting that claimed a reference ID.
+     *
+     * @param referenceId the idempotency key
+     * @return the original response, or empty if the key is unused
+     */
+    @Transactional(readOnly = true)
+    public Optional<TransactionResponse> findOriginalResponse(String referenceId) {
+        return transactionRepository.findReference(referenceId)
+                .map(reference -> postedResponse(reference.getTransactionId(), reference.getStatus()));
+    }
+
+    /**
+     * Response sent for a committed posting.
+     */
+    static TransactionResponse postedResponse(UUID transactionId, Transaction.TransactionStatus status) {
+        return TransactionResponse.newBuilder()
+                .setTransactionId(transactionId.toString())
+                .setStatus(status.name())
+                .setMessage(SUCCESS_MESSAGE)
+                .build();
+    }
+
+    /**
+     * Posts many transactions in one database transaction.
+     * Accounts are loaded with a single query, postings are applied in memory in
+     * request order and rows are written with JDBC batch inserts. Each item
+     * succeeds or fails on its own; only a failure of the commit itself fails the
+     * whole batch.
+     *
+     * Reference IDs are only looked up when {@link ReferenceFilter} cannot rule
+     * out that they were used. If one it ruled out turns out to be claimed, the
+     * insert fails and the batch is rolled back as a retryable concurrency
+     * failure, with its keys now flagged for lookup.
+     *
+     * The isolation level and whether accounts are locked on load follow the
+     * configured {@link PostingMode}. With read replicas configured, posted
+     * items carry the commit LSN once the transaction has committed.
+     *
+     * @param requests the wire requests, in order
+     * @return one response per request, in the same order
+     */
+    public List<TransactionResponse> postBatch(List<PostTransactionRequest> requests) {
+        List<TransactionResponse> results = postingTransaction(postingMode.isolation().value())
+                .execute(status -> postBatchInTransaction(requests));
+        if (!replicaLagMonitor.isEnabled() || results.stream().allMatch(result -> !result.getErrorCode().isEmpty())) {
+            return results;
+        }
+        String commitLsn = commitLsn();
+        return results.stream()
+                .map(result -> result.getErrorCode().isEmpty() ? result.toBuilder().setCommitLsn(commitLsn).build()
+                        : result)
+                .toList();
+    }
+
+    /**
+     * Adds the commit LSN to the response of a committed single posting, so
+     * the client can ask a later read to reflect it. Only done when read
+     * replicas are configured, as it costs a round trip to the primary.
+     *
+     * @param response the response of a posting that has committed
+     * @return the response with commit_lsn set, or unchanged
+     */
+    public TransactionResponse withCommitLsn(TransactionResponse response) {
+        return replicaLagMonitor.isEnabled() ? response.toBuilder().setCommitLsn(commitLsn()).build() : response;
+    }
+
+    /**
+     * Failing to read the LSN after the commit does not fail the posting; the
+     * response goes out without one, and the client's reads are then only
+     * bounded by max-lag.
+     */
+    private String commitLsn() {
+        try {
+            return ledgerJdbcRepository.currentWalInsertLsn();
+        } catch (DataAccessException e) {
+            log.warn("Could not read commit LSN: {}", e.getMessage());
+            return "";
+        }
+    }
+
+    private List<TransactionResponse> postBatchInTransaction(List<PostTransactionRequest> requests) {
+        int size = requests.size();
+        TransactionResponse[] results = new TransactionResponse[size];
+        PostingCommand[] commands = new PostingCommand[size];
+
+        Set<String> referenceIds = new HashSet<>();
+        Set<UUID> accountIds = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            try {
+                PostingCommand command = PostingCommand.from(requests.get(i));
+                commands[i] = command;
+                referenceIds.add(command.getReferenceId());
+                if (command.getFromAccountId() != null) {
+                    accountIds.add(command.getFromAccountId());
+                }
+                if (command.getToAccountId() != null) {
+                    accountIds.add(command.getToAccountId());
+                }
+            } catch (InvalidInputException e) {
+                results[i] = failed(requests.get(i).getReferenceId(), Status.Code.INVALID_ARGUMENT, e.getMessage());
+            }
+        }
+
+        // One round trip each for idempotency keys and accounts; keys the filter
+        // knows to be new are left to the transaction_references primary key
+        Set<String> suspects = referenceFilter.suspects(referenceIds);
+        Set<String> usedReferenceIds = suspects.isEmpty() ? new HashSet<>()
+                : new HashSet<>(transactionRepository.findExistingReferenceIds(suspects));
+        int falsePositives = suspects.size() - usedReferenceIds.size();
+        Map<UUID, Account> accounts = new HashMap<>();
+        if (!accountIds.isEmpty()) {
+            (postingMode.locksAccounts() ? accountRepository.findAllByIdForUpdate(accountIds)
+                    : accountRepository.findAllById(accountIds)).forEach(a -> accounts.put(a.getId(), a));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Transaction> transactions = new ArrayList<>();
+        List<LedgerEntry> entries = new ArrayList<>();
+        Map<UUID, Account> touchedAccounts = new HashMap<>(); // Account's @Data hashCode covers mutable fields
+
+        for (int i = 0; i < size; i++) {
+            PostingCommand command = commands[i];
+            if (command == null) {
+                continue;
+            }
+            String referenceId = command.getReferenceId();
+            if (usedReferenceIds.contains(referenceId)) {
+                results[i] = failed(referenceId, Status.Code.ALREADY_EXISTS, "Transaction already processed");
+                continue;
+            }
+            try {
+                Account fromAccount = command.getFromAccountId() == null ? null
+                        : requireAccount(Optional.ofNullable(accounts.get(command.getFromAccountId())), "Source",
+                                command.getCurrency());
+                Account toAccount = command.getToAccountId() == null ? null
+                        : requireAccount(Optional.ofNullable(accounts.get(command.getToAccountId())),
+                                "Destination", command.getCurrency());
+                validateTransactionType(command.getType(), command.getFromAccountId(), command.getToAccountId());
+
+                Transaction transaction = Transaction.builder()
+                        .referenceId(referenceId)
+                        .type(command.getType())
+                        .status(Transaction.TransactionStatus.POSTED)
+                        .metadata(command.getMetadata())
+                        .createdAt(now)
+                        .build();
+                transaction.prePersist();
+
+                // Account balances are updated on the managed entities and flushed at commit
+                processTransactionLogic(transaction, fromAccount, toAccount, command.getAmount(), entry -> {
+                    entry.prePersist();
+                    entries.add(entry);
+                });
+
+                transactions.add(transaction);
+                usedReferenceIds.add(referenceId);
+                if (fromAccount != null) {
+                    touchedAccounts.put(fromAccount.getId(), fromAccount);
+                }
+                if (toAccount != null) {
+                    touchedAccounts.put(toAccount.getId(), toAccount);
+                }
+                eventPublisher.publishTransactionPosted(transaction, fromAccount, toAccount, command.getAmount(),
+                        command.getCurrency());
+                results[i] = postedResponse(transaction.getId(), transaction.getStatus()).toBuilder()
+                        .setReferenceId(referenceId)
+                        .build();
+
+            } catch (InvalidInputException e) {
+                results[i] = failed(referenceId, Status.Code.INVALID_ARGUMENT, e.getMessage());
+            } catch (AccountNotFoundException e) {
+                eventPublisher.publishTransactionFailed(referenceId, e.getMessage());
+                results[i] = failed(referenceId, Status.Code.NOT_FOUND, e.getMessage());
+            } catch (CurrencyMismatchException e) {
+                eventPublisher.publishTransactionFailed(referenceId, e.getMessage());
+                results[i] = failed(referenceId, Status.Code.FAILED_PRECONDITION, e.getMessage());
+            } catch (InsufficientFundsException e) {
+                eventPublisher.publishTransactionFailed(referenceId, "Insufficient funds");
+                results[i] = failed(referenceId, Status.Code.FAILED_PRECONDITION, "Insufficient funds");
+            }
+        }
+
+        List<String> claimed = transactions.stream().map(Transaction::getReferenceId).toList();
+        try {
+            ledgerJdbcRepository.insertTransactions(transactions);
+        } catch (DataIntegrityViolationException e) {
+            if (!isUniqueViolation(e)) {
+                throw e;
+            }
+            // A key the filter did not know was already claimed, on another node or
+            // before its window. Flag the batch's keys so the retry looks them up.
+            referenceFilter.putAll(claimed);
+            throw new ConcurrencyFailureException("Reference ID claimed outside the idempotency filter", e);
+        }
+        ledgerJdbcRepository.insertLedgerEntries(entries);
+        touchedAccounts.values().forEach(balanceCache::putAfterCommit);
+        referenceFilter.putAllAfterCommit(claimed);
+        referenceFilter.recordFalsePositives(falsePositives);
+
+        log.info("Batch posted: items={}, posted={}", size, transactions.size());
+        return List.of(results);
+    }
+
+    /**
+     * Inserts the transaction without checking its reference ID first. The
+     * insert claims the key in transaction_references, whose primary key is the
+     * only index enforcing uniqueness; a unique violation there means the key
+     * was already used. Flushing surfaces the violation now instead of at commit.
+     */
+    private void claimReference(Transaction transaction) {
+        try {
+            transactionRepository.saveAndFlush(transaction);
+        } catch (DataIntegrityViolationException e) {
+            if (isUniqueViolation(e)) {
+                throw new DuplicateTransactionException("Transaction already processed");
+            }
+            throw e;
+        }
+    }
+
+    static boolean isUniqueViolation(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof SQLException sql && UNIQUE_VIOLATION.equals(sql.getSQLState())) {
+                return true;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static Account requireAccount(Optional<Account> account, String role, String currency) {
+        Account resolved = account.orElseThrow(() -> new AccountNotFoundException(role + " account not found"));
+        if (!resolved.getCurrency().equals(currency)) {
+            throw new CurrencyMismatchException(role + " account currency mismatch");
+        }
+        return resolved;
+    }
+
+    private void validateTransactionType(Transaction.TransactionType type, UUID fromAccountId, UUID toAccountId) {
+        switch (type) {
+            case TRANSFER:
+                if (fromAccountId == null || toAccountId == null) {
+                    throw new InvalidInputException("Transfer requires both source and destination accounts");
+                }
+                if (fromAccountId.equals(toAccountId)) {
+                    throw new InvalidInputException("Cannot transfer to same account");
+                }
+                break;
+            case DEPOSIT:
+                if (toAccountId == null) {
+                    throw new InvalidInputException("Deposit requires destination account");
+                }
+                break;
+            case WITHDRAWAL:
+                if (fromAccountId == null) {
+                    throw new InvalidInputException("Withdrawal requires source account");
+                }
+                break;
+        }
+    }
+
+    private void processTransactionLogic(Transaction transaction, Account fromAccount, Account toAccount,
+            BigDecimal amount, Consumer<LedgerEntry> entrySink) {
+        if (fromAccount != null) {
+            // Debit fromAccount with balance check
+            if (fromAccount.getBalance().compareTo(amount) < 0) {
+                throw new InsufficientFundsException("Insufficient funds");
+            }
+            fromAccount.setBalance(fromAccount.getBalance().subtract(amount));
+            accountRepository.save(fromAccount); // Triggers optimistic lock check
+
+            entrySink.accept(createLedgerEntry(transaction, fromAccount, amount.negate(),
+                    LedgerEntry.EntryDirection.DEBIT));
+        }
+
+        if (toAccount != null) {
+            // Credit toAccount
+            toAccount.setBalance(toAccount.getBalance().add(amount));
+            accountRepository.save(toAccount);
+
+            entrySink.accept(createLedgerEntry(transaction, toAccount, amount, LedgerEntry.EntryDirection.CREDIT));
+        }
+    }
+
+    private LedgerEntry createLedgerEntry(Transaction transaction, Account account, BigDecimal amount,
+            LedgerEntry.EntryDirection direction) {
+        return LedgerEntry.builder()
+                .transaction(transaction)
+                .account(account)
+                .amount(amount)
+                .direction(direction)
+                .balanceAfter(account.getBalance())
+                .createdAt(transaction.getCreatedAt())
+                .build();
+    }
+
+    private static TransactionResponse failed(String referenceId, Status.Code code, String message) {
+        return TransactionResponse.newBuilder()
+                .setStatus(Transaction.TransactionStatus.FAILED.name())
+                .setMessage(message)
+                .setReferenceId(referenceId)
+                .setErrorCode(code.name())
+                .build();
+    }
+}
@@ -0,0 +1,232 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.domain.repository.LedgerJdbcRepository;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.banking.ledger.service.TransactionCallbacks.registerAfterCommit;
+
+/**
+ * Rotating Bloom filter over the reference IDs claimed in the last
+ * {@code window}, used to skip the idempotency lookup of batch postings.
+ *
+ * The window is split into {@code generations} filters. New keys go into the
+ * newest one and every {@code window / generations} the oldest is dropped, so
+ * the filter only ever holds recent keys and its false-positive rate stays
+ * near the configured one. A key found in no generation has not been claimed
+ * through this node within the window; keys claimed by other nodes or before
+ * the window are still caught by the transaction_references primary key.
+ *
+ * On start the filter is loaded from the transactions of the last window.
+ * Until that finishes every key is reported as a suspect, which is the same
+ * as having no filter.
+ */
+@Component
+@Slf4j
+public class ReferenceFilter implements SmartLifecycle {
+
+    private final LedgerJdbcRepository ledgerJdbcRepository;
+    private final boolean enabled;
+    private final Duration window;
+    private final int generationCount;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final int loadFetchSize;
+    private final Counter idempotencyFilterNegativeCounter;
+    private final Counter idempotencyFilterFalsePositiveCounter;
+
+    // Newest first; replaced as a whole on rotation
+    private volatile List<BloomFilter<CharSequence>> generations;
+    private volatile boolean ready;
+    private volatile boolean running;
+    private Thread rotator;
+
+    public ReferenceFilter(LedgerJdbcRepository ledgerJdbcRepository,
+            @Value("${ledger.idempotency-filter.enabled:true}") boolean enabled,
+            @Value("${ledger.idempotency-filter.window:24h}") Duration window,
+            @Value("${ledger.idempotency-filter.generations:4}") int generationCount,
+            @Value("${ledger.idempotency-filter.expected-insertions:2000000}") long expectedInsertions,
+            @Value("${ledger.idempotency-filter.false-positive-probability:0.001}") double falsePositiveProbability,
+            @Value("${ledger.idempotency-filter.load-fetch-size:10000}") int loadFetchSize,
+            Counter idempotencyFilterNegativeCounter,
+            Counter idempotencyFilterFalsePositiveCounter) {
+        if (generationCount < 1) {
+            throw new IllegalArgumentException("Idempotency filter needs at least one generation");
+        }
+        this.ledgerJdbcRepository = ledgerJdbcRepository;
+        this.enabled = enabled;
+        this.window = window;
+        this.generationCount = generationCount;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.loadFetchSize = loadFetchSize;
+        this.idempotencyFilterNegativeCounter = idempotencyFilterNegativeCounter;
+        this.idempotencyFilterFalsePositiveCounter = idempotencyFilterFalsePositiveCounter;
+        List<BloomFilter<CharSequence>> initial = new ArrayList<>(generationCount);
+        for (int i = 0; enabled && i < generationCount; i++) {
+            initial.add(newGeneration());
+        }
+        this.generations = List.copyOf(initial);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        rotator = new Thread(this::run, "ledger-reference-filter");
+        rotator.setDaemon(true);
+        rotator.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (rotator != null) {
+            rotator.interrupt();
+            try {
+                rotator.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        try {
+            long keys = load(LocalDateTime.now());
+            log.info("Idempotency filter loaded: keys={}, window={}", keys, window);
+        } catch (Exception e) {
+            log.warn("Idempotency filter could not be loaded, batch postings keep checking every key: {}",
+                    e.getMessage());
+            return;
+        }
+        Duration slice = slice();
+        while (running) {
+            try {
+                Thread.sleep(slice);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            rotate();
+        }
+    }
+
+    /**
+     * Loads the reference IDs of the last window, each into the generation
+     * covering its age, and marks the filter ready.
+     *
+     * @param now the load time
+     * @return the number of keys loaded
+     */
+    long load(LocalDateTime now) {
+        List<BloomFilter<CharSequence>> current = generations;
+        long sliceNanos = slice().toNanos();
+        long keys = ledgerJdbcRepository.streamReferenceIds(now.minus(window), loadFetchSize,
+                (referenceId, createdAt) -> {
+                    long age = Math.max(0, Duration.between(createdAt, now).toNanos());
+                    current.get((int) Math.min(generationCount - 1, age / sliceNanos)).put(referenceId);
+                });
+        ready = true;
+        return keys;
+    }
+
+    /**
+     * Starts a new generation and drops the oldest.
+     */
+    void rotate() {
+        List<BloomFilter<CharSequence>> rotated = new ArrayList<>(generationCount);
+        rotated.add(newGeneration());
+        rotated.addAll(generations.subList(0, generationCount - 1));
+        generations = List.copyOf(rotated);
+    }
+
+    /**
+     * Splits keys into those that may already be claimed, which must still be
+     * checked against the database, and those that are certainly new.
+     *
+     * @param referenceIds the keys of a posting
+     * @return the keys that may already be claimed
+     */
+    public Set<String> suspects(Collection<String> referenceIds) {
+        if (!ready) {
+            return Set.copyOf(referenceIds);
+        }
+        List<BloomFilter<CharSequence>> current = generations;
+        Set<String> suspects = referenceIds.stream()
+                .filter(referenceId -> current.stream().anyMatch(g -> g.mightContain(referenceId)))
+                .collect(Collectors.toSet());
+        idempotencyFilterNegativeCounter.increment(referenceIds.size() - suspects.size());
+        return suspects;
+    }
+
+    /**
+     * Records suspects that the database check found unclaimed, once the
+     * current transaction commits. An attempt that rolls back, for instance
+     * because another node claimed one of the keys after the check, records
+     * nothing, so a retried batch counts its keys once.
+     *
+     * @param count the number of false positives
+     */
+    public void recordFalsePositives(int count) {
+        if (count > 0) {
+            registerAfterCommit(() -> {
+                if (ready) {
+                    idempotencyFilterFalsePositiveCounter.increment(count);
+                }
+            });
+        }
+    }
+
+    /**
+     * Adds claimed keys to the newest generation.
+     */
+    public void putAll(Collection<String> referenceIds) {
+        if (!enabled) {
+            return;
+        }
+        BloomFilter<CharSequence> newest = generations.get(0);
+        referenceIds.forEach(newest::put);
+    }
+
+    /**
+     * Adds keys once the current transaction commits, so keys of a rolled back
+     * posting do not turn into false positives.
+     */
+    public void putAllAfterCommit(Collection<String> referenceIds) {
+        if (enabled && !referenceIds.isEmpty()) {
+            registerAfterCommit(() -> putAll(referenceIds));
+        }
+    }
+
+    private Duration slice() {
+        return window.dividedBy(generationCount);
+    }
+
+    private BloomFilter<CharSequence> newGeneration() {
+        return BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expectedInsertions,
+                falsePositiveProbability);
+    }
+}
@@ -0,0 +1,202 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.domain.repository.ReadRoutingConnectionFactory;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks how far each read replica is behind the primary and picks where
+ * GetBalance and GetTransactionHistory read from.
+ *
+ * Every {@code lag-poll-interval} each replica reports its replay position and
+ * lag. A replica is used while its last report is recent and its lag is within
+ * {@code max-lag}; a read that must reflect a posting (min_lsn) additionally
+ * needs the replica to have replayed past that posting's commit LSN. Reads no
+ * replica can serve go to the primary. Without replicas configured the monitor
+ * does not start and every read goes to the primary.
+ */
+@Component
+@Slf4j
+public class ReplicaLagMonitor implements SmartLifecycle {
+
+    private static final String SELECT_REPLICA_STATUS = """
+            SELECT pg_last_wal_replay_lsn()::text AS replayed,
+                   CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END AS lag_seconds
+            """;
+
+    /**
+     * Missed polls after which a replica's last report is no longer trusted.
+     */
+    private static final int STALE_POLLS = 3;
+
+    private final Map<String, DatabaseClient> replicas;
+    private final List<String> replicaNames;
+    private final Duration maxLag;
+    private final Duration pollInterval;
+    private final Counter replicaReadCounter;
+    private final Counter primaryReadCounter;
+    private final Map<String, ReplicaStatus> statuses = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile boolean running;
+    private Thread poller;
+
+    /**
+     * Position and lag a replica reported.
+     *
+     * @param replayed      last WAL position replayed
+     * @param lag           time since the last replayed commit, zero when nothing is pending
+     * @param polledAtNanos {@link System#nanoTime()} of the report
+     */
+    record ReplicaStatus(Lsn replayed, Duration lag, long polledAtNanos) {
+    }
+
+    public ReplicaLagMonitor(ReadRoutingConnectionFactory connectionFactory,
+            @Value("${ledger.read.max-lag:5s}") Duration maxLag,
+            @Value("${ledger.read.lag-poll-interval:1s}") Duration pollInterval,
+            Counter replicaReadCounter,
+            Counter primaryReadCounter) {
+        Map<String, DatabaseClient> clients = new HashMap<>();
+        connectionFactory.replicas().forEach((name, replica) -> clients.put(name, DatabaseClient.create(replica)));
+        this.replicas = clients;
+        this.replicaNames = clients.keySet().stream().sorted().toList();
+        this.maxLag = maxLag;
+        this.pollInterval = pollInterval;
+        this.replicaReadCounter = replicaReadCounter;
+        this.primaryReadCounter = primaryReadCounter;
+    }
+
+    /**
+     * Whether read replicas are configured, and so whether postings need to
+     * report their commit LSN.
+     */
+    public boolean isEnabled() {
+        return !replicaNames.isEmpty();
+    }
+
+    /**
+     * Picks a replica for a read, round robin among those that qualify.
+     *
+     * @param minLsn position the read must reflect, or null for any replica within max-lag
+     * @return the replica name to pass to {@link ReadRoutingConnectionFactory#onReplica(String)},
+     *         or null to read from the primary
+     */
+    public String route(Lsn minLsn) {
+        int size = replicaNames.size();
+        if (size > 0) {
+            long now = System.nanoTime();
+            int start = Math.floorMod(next.getAndIncrement(), size);
+            for (int i = 0; i < size; i++) {
+                String name = replicaNames.get((start + i) % size);
+                if (isUsable(statuses.get(name), minLsn, now)) {
+                    replicaReadCounter.increment();
+                    return name;
+                }
+            }
+        }
+        primaryReadCounter.increment();
+        return null;
+    }
+
+    private boolean isUsable(ReplicaStatus status, Lsn minLsn, long now) {
+        return status != null
+                && now - status.polledAtNanos() <= pollInterval.toNanos() * STALE_POLLS
+                && status.lag().compareTo(maxLag) <= 0
+                && (minLsn == null || status.replayed().isAtLeast(minLsn));
+    }
+
+    @Override
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        running = true;
+        poller = new Thread(this::run, "ledger-replica-lag-monitor");
+        poller.setDaemon(true);
+        poller.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (poller != null) {
+            poller.interrupt();
+            try {
+                poller.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            pollAll();
+            try {
+                Thread.sleep(pollInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Asks every replica for its position and lag. A replica that cannot
+     * answer, or is not in recovery, is left out until it answers again.
+     */
+    void pollAll() {
+        for (String name : replicaNames) {
+            try {
+                ReplicaStatus status = poll(replicas.get(name));
+                if (statuses.put(name, status) == null) {
+                    log.info("Replica {} available for reads: lag={}", name, status.lag());
+                }
+            } catch (Exception e) {
+                if (statuses.remove(name) != null) {
+                    log.warn("Replica {} unavailable for reads: {}", name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private ReplicaStatus poll(DatabaseClient replica) {
+        return replica.sql(SELECT_REPLICA_STATUS)
+                .map(row -> {
+                    String replayed = row.get("replayed", String.class);
+                    if (replayed == null) {
+                        throw new IllegalStateException("Not a streaming replica");
+                    }
+                    Number lagSeconds = row.get("lag_seconds", Number.class);
+                    if (lagSeconds == null) {
+                        throw new IllegalStateException("Replay lag unknown");
+                    }
+                    return new ReplicaStatus(Lsn.parse(replayed),
+                            Duration.ofMillis(Math.round(lagSeconds.doubleValue() * 1000)), System.nanoTime());
+                })
+                .one()
+                .block(pollInterval.multipliedBy(STALE_POLLS));
+    }
+
+    void record(String replica, ReplicaStatus status) {
+        statuses.put(replica, status);
+    }
+}
@@ -0,0 +1,37 @@
+package com.banking.ledger.service;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helpers for hooking work onto the lifecycle of the current Spring transaction.
+ */
+@UtilityClass
+@Slf4j
+public class TransactionCallbacks {
+
+    /**
+     * Registers a callback to execute after the current transaction commits.
+     * This ensures side effects (e.g. Kafka events) only happen after a
+     * successful DB commit.
+     */
+    public static void registerAfterCommit(Runnable callback) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        callback.run();
+                    } catch (Exception e) {
+                        log.error("Error in after-commit callback", e);
+                    }
+                }
+            });
+        } else {
+            // No active transaction, execute immediately
+            callback.run();
+        }
+    }
+}
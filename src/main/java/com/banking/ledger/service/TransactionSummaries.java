@@ -0,0 +1,26 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.domain.repository.LedgerHistoryRow;
+import com.banking.ledger.grpc.TransactionSummary;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Maps history rows to their wire form, shared by paged and streamed history.
+ */
+@UtilityClass
+public class TransactionSummaries {
+
+    public static TransactionSummary of(LedgerHistoryRow row) {
+        return TransactionSummary.newBuilder()
+                .setTransactionId(row.transactionId().toString())
+                .setType(row.type().name())
+                .setAmount(row.amount().abs().toPlainString())
+                .setDirection(row.direction().name())
+                .setStatus(row.status().name())
+                .setCreatedAt(row.createdAt().toString())
+                .setBalanceAfter(row.balanceAfter().toPlainString())
+                .setReferenceId(row.referenceId())
+                .setAccountId(row.accountId().toString())
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.banking.ledger.service;
+
+import io.micrometer.core.instrument.Counter;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a posting unit of work when it loses a concurrency race.
+ * PostgreSQL serialization failures (40001), deadlocks (40P01) and JPA
+ * optimistic lock failures are expected under contention and usually succeed
+ * on a second try, so they are retried in-server with jittered exponential
+ * backoff instead of surfacing as INTERNAL to the caller.
+ *
+ * The work must be a complete transaction: retrying inside a transaction that
+ * has already failed cannot succeed.
+ */
+@Component
+@Slf4j
+public class TransientFailureRetrier {
+
+    private static final Set<String> RETRYABLE_SQL_STATES = Set.of(
+            "40001", // serialization_failure
+            "40P01"); // deadlock_detected
+
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final Counter retryAttemptCounter;
+    private final Counter retryRecoveredCounter;
+    private final Counter retryExhaustedCounter;
+
+    public TransientFailureRetrier(
+            @Value("${ledger.posting.retry.max-attempts:5}") int maxAttempts,
+            @Value("${ledger.posting.retry.initial-backoff:5ms}") Duration initialBackoff,
+            @Value("${ledger.posting.retry.max-backoff:200ms}") Duration maxBackoff,
+            Counter retryAttemptCounter,
+            Counter retryRecoveredCounter,
+            Counter retryExhaustedCounter) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Retry max attempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.retryAttemptCounter = retryAttemptCounter;
+        this.retryRecoveredCounter = retryRecoveredCounter;
+        this.retryExhaustedCounter = retryExhaustedCounter;
+    }
+
+    /**
+     * Runs the work, retrying transient concurrency failures.
+     *
+     * @param work the unit of work
+     * @return the result of the first successful attempt
+     * @throws RuntimeException the last failure if it is not transient or the
+     *                          attempt budget is spent
+     */
+    public <T> T execute(Supplier<T> work) {
+        for (int attempt = 1;; attempt++) {
+            try {
+                T result = work.get();
+                if (attempt > 1) {
+                    retryRecoveredCounter.increment();
+                }
+                return result;
+            } catch (RuntimeException e) {
+                if (!isTransient(e)) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    retryExhaustedCounter.increment();
+                    log.warn("Giving up after {} attempts: {}", attempt, e.getClass().getSimpleName());
+                    throw e;
+                }
+                retryAttemptCounter.increment();
+                log.debug("Retrying after transient failure (attempt {}): {}", attempt, e.getClass().getSimpleName());
+                backoff(attempt, e);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a failure is a lost concurrency race that is worth retrying.
+     */
+    public static boolean isTransient(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof ConcurrencyFailureException || t instanceof OptimisticLockException) {
+                return true;
+            }
+            if (t instanceof SQLException sql && RETRYABLE_SQL_STATES.contains(sql.getSQLState())) {
+                return true;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private void backoff(int attempt, RuntimeException failure) {
+        // Full jitter: sleep a random time up to the exponential ceiling
+        long ceiling = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt - 1, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        long sleepNanos = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(Duration.ofNanos(sleepNanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw failure;
+        }
+    }
+}
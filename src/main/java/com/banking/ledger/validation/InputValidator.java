@@ -5,6 +5,8 @@ import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.Set;
 import java.util.UUID;
 import java.util.regex.Pattern;
@@ -32,6 +34,9 @@ public class InputValidator {
     // Maximum page size for history queries
     private static final int MAX_PAGE_SIZE = 100;
 
+    // Maximum number of postings accepted in a single batch call
+    private static final int MAX_BATCH_SIZE = 1000;
+
     /**
      * Validates and parses a UUID string.
      * 
@@ -127,6 +132,53 @@ public class InputValidator {
         return Math.min(size, MAX_PAGE_SIZE);
     }
 
+    /**
+     * Validates the number of items in a batch request.
+     * 
+     * @param size the number of items
+     * @throws InvalidInputException if the batch is empty or too large
+     */
+    public static void validateBatchSize(int size) {
+        if (size <= 0) {
+            throw new InvalidInputException("Batch must contain at least one item");
+        }
+        if (size > MAX_BATCH_SIZE) {
+            throw new InvalidInputException("Batch size exceeds maximum of " + MAX_BATCH_SIZE);
+        }
+    }
+
+    /**
+     * Validates and parses an optional ISO-8601 local date-time.
+     * 
+     * @param input     the timestamp string, may be empty
+     * @param fieldName the field name for error messages
+     * @return the parsed timestamp, or null if none was given
+     * @throws InvalidInputException if the timestamp is invalid
+     */
+    public static LocalDateTime validateOptionalTimestamp(String input, String fieldName) {
+        if (input == null || input.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(input.trim());
+        } catch (DateTimeParseException e) {
+            throw new InvalidInputException(fieldName + " has invalid format");
+        }
+    }
+
+    /**
+     * Validates that a time range is not empty or inverted.
+     * 
+     * @param from inclusive lower bound, may be null
+     * @param to   exclusive upper bound, may be null
+     * @throws InvalidInputException if from is not before to
+     */
+    public static void validateTimeRange(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidInputException("from must be before to");
+        }
+    }
+
     /**
      * Sanitizes metadata to prevent injection attacks.
      * 
@@ -0,0 +1,2 @@
+-- The relay purges published events by sent_at; unsent rows stay out of the index
+CREATE INDEX idx_outbox_sent_at ON outbox_events(sent_at) WHERE sent_at IS NOT NULL;
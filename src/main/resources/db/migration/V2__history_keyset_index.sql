@@ -0,0 +1,6 @@
+-- Keyset pagination for account history:
+--   WHERE account_id = ? AND (created_at, id) < (?, ?) ORDER BY created_at DESC, id DESC
+-- reads one contiguous index range with no sort and no OFFSET scan.
+CREATE INDEX idx_ledger_account_created_id ON ledger_entries(account_id, created_at DESC, id DESC);
+-- Lookups by account_id alone are served by the composite index
+DROP INDEX idx_ledger_account_id;
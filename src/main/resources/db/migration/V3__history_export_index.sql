@@ -0,0 +1,2 @@
+-- Time-range history exports across all accounts read entries in (created_at, id) order
+CREATE INDEX idx_ledger_created_id ON ledger_entries(created_at, id);
@@ -0,0 +1,13 @@
+-- Events written in the same transaction as the change they describe and
+-- published to Kafka by the outbox relay
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    topic VARCHAR(255) NOT NULL,
+    event_key VARCHAR(255),
+    event_type VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP WITH TIME ZONE
+);
+-- The relay scans unsent rows in id order; sent rows drop out of the index
+CREATE INDEX idx_outbox_unsent ON outbox_events(id) WHERE sent_at IS NULL;
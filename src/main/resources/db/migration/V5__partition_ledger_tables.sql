@@ -0,0 +1,110 @@
+-- transactions and ledger_entries become range partitioned on created_at, one
+-- partition per calendar month (UTC). Old months can then be detached and
+-- archived as a catalog operation, vacuum and index maintenance work on one
+-- month at a time, and the current month's indexes stay small.
+--
+-- Primary keys and unique constraints of a partitioned table must include the
+-- partition key, so:
+--   * primary keys become (id, created_at);
+--   * reference_id uniqueness moves to transaction_references, filled by trigger;
+--   * the ledger_entries -> transactions foreign key is dropped. A transaction
+--     and its entries share created_at instead, so joins prune to one partition.
+
+-- Creates the partition of a table for the month containing the given day;
+-- also called by PartitionMaintenance to create partitions ahead of time
+CREATE FUNCTION create_monthly_partition(parent TEXT, month DATE) RETURNS TEXT AS $$
+DECLARE
+    lower_bound DATE := date_trunc('month', month)::DATE;
+    upper_bound DATE := (date_trunc('month', month) + INTERVAL '1 month')::DATE;
+    partition_name TEXT := format('%s_p%s', parent, to_char(lower_bound, 'YYYY_MM'));
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, parent, lower_bound || ' 00:00:00+00', upper_bound || ' 00:00:00+00');
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE ledger_entries RENAME TO ledger_entries_unpartitioned;
+ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+
+CREATE TABLE transactions (
+    id UUID NOT NULL,
+    reference_id VARCHAR(255) NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    metadata TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE ledger_entries (
+    id UUID NOT NULL,
+    transaction_id UUID NOT NULL,
+    account_id UUID NOT NULL,
+    amount NUMERIC(19, 4) NOT NULL,
+    direction VARCHAR(10) NOT NULL,
+    balance_after NUMERIC(19, 4) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_ledger_account FOREIGN KEY (account_id) REFERENCES accounts(id)
+) PARTITION BY RANGE (created_at);
+
+-- Idempotency keys stay globally unique and survive detaching old partitions
+CREATE TABLE transaction_references (
+    reference_id VARCHAR(255) PRIMARY KEY,
+    transaction_id UUID NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Partitions from the oldest existing row through three months ahead
+DO $$
+DECLARE
+    month DATE := date_trunc('month', LEAST(
+            (SELECT min(created_at) FROM transactions_unpartitioned),
+            (SELECT min(created_at) FROM ledger_entries_unpartitioned),
+            CURRENT_TIMESTAMP) AT TIME ZONE 'UTC')::DATE;
+BEGIN
+    WHILE month <= (CURRENT_TIMESTAMP AT TIME ZONE 'UTC' + INTERVAL '3 months')::DATE LOOP
+        PERFORM create_monthly_partition('transactions', month);
+        PERFORM create_monthly_partition('ledger_entries', month);
+        month := month + INTERVAL '1 month';
+    END LOOP;
+END;
+$$;
+
+INSERT INTO transactions (id, reference_id, type, status, metadata, created_at)
+SELECT id, reference_id, type, status, metadata, COALESCE(created_at, CURRENT_TIMESTAMP)
+FROM transactions_unpartitioned;
+
+-- Entries take their transaction's timestamp; they were written in the same
+-- database transaction, microseconds apart
+INSERT INTO ledger_entries (id, transaction_id, account_id, amount, direction, balance_after, created_at)
+SELECT e.id, e.transaction_id, e.account_id, e.amount, e.direction, e.balance_after, t.created_at
+FROM ledger_entries_unpartitioned e
+JOIN transactions t ON t.id = e.transaction_id;
+
+INSERT INTO transaction_references (reference_id, transaction_id, created_at)
+SELECT reference_id, id, created_at FROM transactions;
+
+DROP TABLE ledger_entries_unpartitioned;
+DROP TABLE transactions_unpartitioned;
+
+-- Indexes are declared on the parents and created on every partition
+ALTER TABLE transactions ADD PRIMARY KEY (id, created_at);
+CREATE INDEX idx_transactions_created_at ON transactions(created_at);
+
+ALTER TABLE ledger_entries ADD PRIMARY KEY (id, created_at);
+CREATE INDEX idx_ledger_transaction_id ON ledger_entries(transaction_id);
+CREATE INDEX idx_ledger_account_created_id ON ledger_entries(account_id, created_at DESC, id DESC);
+CREATE INDEX idx_ledger_created_id ON ledger_entries(created_at, id);
+
+CREATE FUNCTION claim_transaction_reference() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO transaction_references (reference_id, transaction_id, created_at)
+    VALUES (NEW.reference_id, NEW.id, NEW.created_at);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- A reused reference_id fails the insert with a unique violation, as before
+CREATE TRIGGER trg_transactions_claim_reference
+    AFTER INSERT ON transactions
+    FOR EACH ROW EXECUTE FUNCTION claim_transaction_reference();
@@ -0,0 +1,7 @@
+-- History pages range-scan (account_id, created_at DESC, id DESC) and read
+-- every ledger column of the response. Carrying those columns in the index
+-- leaves makes a page an index-only scan: no sort, and no heap visits for
+-- all-visible pages. Replaces the key-only index from V2.
+DROP INDEX idx_ledger_account_created_id;
+CREATE INDEX idx_ledger_account_history ON ledger_entries(account_id, created_at DESC, id DESC)
+    INCLUDE (transaction_id, amount, direction, balance_after);
@@ -0,0 +1,16 @@
+-- Duplicate postings are answered with the original response, which is the
+-- transaction ID and its status. Keeping the status next to the claimed
+-- reference lets a replay read one row of transaction_references instead of
+-- a transactions partition.
+--
+-- Only posted transactions are ever committed, so existing rows default to
+-- POSTED; the column is added without rewriting the table.
+ALTER TABLE transaction_references ADD COLUMN status VARCHAR(20) NOT NULL DEFAULT 'POSTED';
+
+CREATE OR REPLACE FUNCTION claim_transaction_reference() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO transaction_references (reference_id, transaction_id, created_at, status)
+    VALUES (NEW.reference_id, NEW.id, NEW.created_at, NEW.status);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
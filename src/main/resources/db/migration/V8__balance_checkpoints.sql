@@ -0,0 +1,18 @@
+-- Per-account balances at fixed points in time, for as-of balance queries.
+-- The balance at any time is the latest checkpoint at or before it plus the
+-- signed amounts of the account's entries after the checkpoint, an
+-- index-only range of idx_ledger_account_history. Summing amounts rather
+-- than reading one entry's balance_after keeps the answer independent of how
+-- entries sharing a created_at are ordered.
+--
+-- Checkpoints are only written for accounts with entries since the previous
+-- round, so an account's latest checkpoint may be older than the latest round.
+CREATE TABLE balance_checkpoints (
+    account_id UUID NOT NULL REFERENCES accounts(id),
+    as_of TIMESTAMP WITH TIME ZONE NOT NULL,
+    balance NUMERIC(19, 4) NOT NULL,
+    PRIMARY KEY (account_id, as_of)
+);
+
+-- Each round starts where the previous one ended
+CREATE INDEX idx_balance_checkpoints_as_of ON balance_checkpoints(as_of);
@@ -0,0 +1,10 @@
+-- Earliest time as-of balances can still be answered once ledger_entries
+-- partitions have been detached: the first balance checkpoint round at or
+-- after the oldest attached month. Every entry before it is summed into a
+-- checkpoint no later than that round, so replays from then on never reach a
+-- detached row; earlier times would sum rows that are gone. One row, written
+-- by PartitionMaintenance when it detaches; absent while nothing is detached.
+CREATE TABLE balance_as_of_horizon (
+    id BOOLEAN PRIMARY KEY DEFAULT true CHECK (id),
+    earliest_as_of TIMESTAMP WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,49 @@
+package com.banking.ledger.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GrpcExecutorConfig Tests")
+class GrpcExecutorConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(GrpcExecutorConfig.class);
+
+    @Test
+    @DisplayName("Should let in-flight calls finish when the context closes")
+    void virtualExecutor_DrainedOnClose() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean finished = new AtomicBoolean();
+
+        contextRunner.run(context -> {
+            ExecutorService executor = context.getBean("grpcCallExecutor", ExecutorService.class);
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(200);
+                    finished.set(true);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTrue(started.await(2, TimeUnit.SECONDS));
+        });
+
+        assertTrue(finished.get());
+    }
+
+    @Test
+    @DisplayName("Should not create the executor for gRPC's default pool")
+    void defaultExecutor_NoVirtualThreads() {
+        contextRunner.withPropertyValues("ledger.grpc.executor=default")
+                .run(context -> assertFalse(context.containsBean("grpcCallExecutor")));
+    }
+}
@@ -0,0 +1,87 @@
+package com.banking.ledger.config;
+
+import com.banking.ledger.domain.event.AccountCreatedEvent;
+import com.banking.ledger.domain.event.LedgerTransactionPostedEvent;
+import com.banking.ledger.domain.event.TransactionFailedEvent;
+import com.banking.ledger.grpc.events.AccountCreated;
+import com.banking.ledger.grpc.events.Decimal;
+import com.banking.ledger.grpc.events.LedgerTransactionPosted;
+import com.banking.ledger.grpc.events.TransactionFailed;
+import com.google.protobuf.ByteString;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ProtobufEventSerializer Unit Tests")
+class ProtobufEventSerializerTest {
+
+    private final ProtobufEventSerializer serializer = new ProtobufEventSerializer();
+
+    @Test
+    @DisplayName("Should encode a posted transaction with binary UUIDs and exact amounts")
+    void serialize_TransactionPosted() throws Exception {
+        UUID transactionId = UUID.randomUUID();
+        UUID toAccountId = UUID.randomUUID();
+        LedgerTransactionPostedEvent event = LedgerTransactionPostedEvent.builder()
+                .transactionId(transactionId)
+                .referenceId("ref-1")
+                .type("DEPOSIT")
+                .status("POSTED")
+                .toAccountId(toAccountId)
+                .amount(new BigDecimal("-1250.7500"))
+                .currency("USD")
+                .build();
+        Headers headers = new RecordHeaders();
+
+        LedgerTransactionPosted message = LedgerTransactionPosted.parseFrom(
+                serializer.serialize("topic", headers, event));
+
+        assertEquals(transactionId, uuid(message.getTransactionId()));
+        assertEquals(toAccountId, uuid(message.getToAccountId()));
+        assertTrue(message.getFromAccountId().isEmpty());
+        assertEquals(new BigDecimal("-1250.7500"), decimal(message.getAmount()));
+        assertEquals("ref-1", message.getReferenceId());
+        assertEquals("application/x-protobuf;messageType=com.banking.ledger.events.LedgerTransactionPosted",
+                new String(headers.lastHeader(ProtobufEventSerializer.CONTENT_TYPE_HEADER).value(),
+                        StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should encode account created and failure events")
+    void serialize_OtherEvents() throws Exception {
+        UUID accountId = UUID.randomUUID();
+        AccountCreated created = AccountCreated.parseFrom(serializer.serialize("topic",
+                new AccountCreatedEvent(accountId, UUID.randomUUID(), "EUR", BigDecimal.ZERO)));
+        TransactionFailed failed = TransactionFailed.parseFrom(serializer.serialize("topic",
+                new TransactionFailedEvent("ref-2", "Insufficient funds")));
+
+        assertEquals(accountId, uuid(created.getAccountId()));
+        assertEquals(0, decimal(created.getInitialBalance()).signum());
+        assertEquals("Insufficient funds", failed.getReason());
+    }
+
+    @Test
+    @DisplayName("Should reject types without a protobuf mapping")
+    void serialize_UnknownType() {
+        assertThrows(SerializationException.class, () -> serializer.serialize("topic", "not an event"));
+    }
+
+    private static UUID uuid(ByteString bytes) {
+        ByteBuffer buffer = bytes.asReadOnlyByteBuffer();
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static BigDecimal decimal(Decimal decimal) {
+        return new BigDecimal(new BigInteger(decimal.getUnscaled().toByteArray()), decimal.getScale());
+    }
+}
@@ -0,0 +1,188 @@
+package com.banking.ledger.config;
+
+import com.banking.ledger.domain.event.OutboxEvent;
+import com.banking.ledger.domain.repository.AccountRepository;
+import com.banking.ledger.domain.repository.LedgerJdbcRepository;
+import com.banking.ledger.domain.repository.OutboxRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the blocking database work of a posting on the gRPC virtual-thread
+ * executor and checks with JFR that no call parks while pinned to its carrier.
+ * Many more calls than pooled connections compete for two hot rows, so calls
+ * wait in the Hikari pool, on PostgreSQL row locks and on socket reads.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.datasource.hikari.maximum-pool-size=4"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ LedgerJdbcRepository.class, OutboxRepository.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Calls commit on their own threads
+@DisplayName("Virtual thread pinning Tests")
+class VirtualThreadPinningTest {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int CALLS = 200;
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private LedgerJdbcRepository ledgerJdbcRepository;
+    @Autowired
+    private OutboxRepository outboxRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        try {
+            postgres = EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    @DisplayName("Should not pin carrier threads on the JDBC posting path")
+    void postingPath_DoesNotPin() throws Exception {
+        UUID from = account();
+        UUID to = account();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        List<RecordedEvent> pinned = recordPinning(() -> runOnVirtualThreads(() -> transaction.executeWithoutResult(
+                status -> {
+                    accountRepository.findAllByIdForUpdate(List.of(from, to));
+                    ledgerJdbcRepository.debit(from, "USD", BigDecimal.ONE).orElseThrow();
+                    ledgerJdbcRepository.credit(to, "USD", BigDecimal.ONE).orElseThrow();
+                    outboxRepository.insert(List.of(new OutboxEvent(null, "ledger.test", from.toString(),
+                            "PinningProbe", "{}")));
+                })));
+
+        assertTrue(pinned.isEmpty(), () -> "Pinned virtual threads:\n" + describe(pinned));
+        assertEquals(new BigDecimal("1000.0000").subtract(BigDecimal.valueOf(CALLS)), balance(from));
+    }
+
+    @Test
+    @DisplayName("Should detect a call that parks inside a monitor")
+    void recording_DetectsPinning() throws Exception {
+        Object monitor = new Object();
+
+        List<RecordedEvent> pinned = recordPinning(() -> runOnVirtualThreads(() -> {
+            synchronized (monitor) {
+                sleep();
+            }
+        }));
+
+        assertFalse(pinned.isEmpty());
+    }
+
+    private interface Work {
+        void run() throws Exception;
+    }
+
+    private static List<RecordedEvent> recordPinning(Work work) throws Exception {
+        Path file = Files.createTempFile("pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(PINNED_EVENT))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void runOnVirtualThreads(Runnable call) throws Exception {
+        try (ExecutorService executor = GrpcExecutorConfig.virtualThreadExecutor()) {
+            List<Future<?>> calls = new ArrayList<>(CALLS);
+            for (int i = 0; i < CALLS; i++) {
+                calls.add(executor.submit(call));
+            }
+            for (Future<?> result : calls) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String describe(List<RecordedEvent> pinned) {
+        return pinned.stream()
+                .limit(5)
+                .map(event -> event.getStackTrace() == null ? "(no stack trace)"
+                        : event.getStackTrace().getFrames().stream()
+                                .limit(15)
+                                .map(RecordedFrame::getMethod)
+                                .map(method -> "  " + method.getType().getName() + "." + method.getName())
+                                .collect(Collectors.joining("\n")))
+                .collect(Collectors.joining("\n---\n"));
+    }
+
+    private UUID account() {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO accounts (id, user_id, currency, balance) VALUES (?, ?, 'USD', 1000)",
+                id, UUID.randomUUID());
+        return id;
+    }
+
+    private BigDecimal balance(UUID accountId) {
+        return jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE id = ?", BigDecimal.class, accountId);
+    }
+}
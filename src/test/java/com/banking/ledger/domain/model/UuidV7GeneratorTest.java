@@ -0,0 +1,100 @@
+package com.banking.ledger.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UuidV7Generator Unit Tests")
+class UuidV7GeneratorTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("Should set version 7, the IETF variant and the clock timestamp")
+    void next_Layout() {
+        UUID id = new UuidV7Generator(() -> NOW).next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(NOW, UuidV7Generator.timestampMillis(id));
+    }
+
+    @Test
+    @DisplayName("Should increase strictly within one millisecond and past the counter range")
+    void next_MonotonicWithinMillisecond() {
+        UuidV7Generator generator = new UuidV7Generator(() -> NOW);
+
+        UUID previous = generator.next();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = generator.next();
+            assertTrue(Long.compareUnsigned(id.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+            previous = id;
+        }
+        // 4096 ids fit in one millisecond; the rest borrow from the following ones
+        assertEquals(NOW + 2, UuidV7Generator.timestampMillis(previous));
+    }
+
+    @Test
+    @DisplayName("Should stay monotonic when the clock steps backwards")
+    void next_ClockGoesBackwards() {
+        AtomicLong clock = new AtomicLong(NOW);
+        UuidV7Generator generator = new UuidV7Generator(clock::get);
+
+        UUID before = generator.next();
+        clock.set(NOW - 5_000);
+        UUID after = generator.next();
+
+        assertTrue(Long.compareUnsigned(after.getMostSignificantBits(), before.getMostSignificantBits()) > 0);
+        assertEquals(NOW, UuidV7Generator.timestampMillis(after));
+    }
+
+    @Test
+    @DisplayName("Should hand out unique ids across threads")
+    void next_UniqueAcrossThreads() throws Exception {
+        UuidV7Generator generator = new UuidV7Generator();
+        int threads = 8;
+        int perThread = 20_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<UUID>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    List<UUID> ids = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(generator.next());
+                    }
+                    return ids;
+                }));
+            }
+            Set<Long> timeAndCounter = new HashSet<>();
+            for (Future<List<UUID>> future : futures) {
+                for (UUID id : future.get(30, TimeUnit.SECONDS)) {
+                    // The ordered half alone must be unique, independent of the random bits
+                    assertTrue(timeAndCounter.add(id.getMostSignificantBits()));
+                }
+            }
+            assertEquals(threads * perThread, timeAndCounter.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject extracting a timestamp from a random UUID")
+    void timestampMillis_NotVersion7() {
+        assertThrows(IllegalArgumentException.class, () -> UuidV7Generator.timestampMillis(UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,154 @@
+package com.banking.ledger.domain.repository;
+
+import com.banking.ledger.domain.model.Account;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the guarded balance updates and account locking against PostgreSQL.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(LedgerJdbcRepository.class)
+@DisplayName("Account balance update Integration Tests")
+class AccountBalanceUpdateTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private LedgerJdbcRepository ledgerJdbcRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        try {
+            postgres = EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    @DisplayName("Should debit and credit in place, returning the new balance and version")
+    void debitAndCredit_ReturnUpdatedAccount() {
+        UUID accountId = account("100.0000");
+
+        Account debited = ledgerJdbcRepository.debit(accountId, "USD", new BigDecimal("60.00")).orElseThrow();
+        assertEquals(new BigDecimal("40.0000"), debited.getBalance());
+        assertEquals(1L, debited.getVersion());
+
+        Account credited = ledgerJdbcRepository.credit(accountId, "USD", new BigDecimal("5.00")).orElseThrow();
+        assertEquals(new BigDecimal("45.0000"), credited.getBalance());
+        assertEquals(2L, credited.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should match no row for too low a balance, another currency or a missing account")
+    void debitAndCredit_Guarded() {
+        UUID accountId = account("100.0000");
+
+        assertEquals(Optional.empty(), ledgerJdbcRepository.debit(accountId, "USD", new BigDecimal("100.01")));
+        assertEquals(Optional.empty(), ledgerJdbcRepository.debit(accountId, "EUR", new BigDecimal("1.00")));
+        assertEquals(Optional.empty(), ledgerJdbcRepository.credit(accountId, "EUR", new BigDecimal("1.00")));
+        assertEquals(Optional.empty(), ledgerJdbcRepository.credit(UUID.randomUUID(), "USD", new BigDecimal("1.00")));
+        assertEquals(new BigDecimal("100.0000"), balance(accountId));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // Each debit commits on its own
+    @DisplayName("Should never overdraw under concurrent debits")
+    void debit_ConcurrentNeverOverdraws() throws Exception {
+        UUID accountId = account("50.0000");
+        int threads = 8;
+        int attemptsPerThread = 5;
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int succeeded = 0;
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (ledgerJdbcRepository.debit(accountId, "USD", BigDecimal.ONE).isPresent()) {
+                            succeeded++;
+                        }
+                    }
+                    return succeeded;
+                }));
+            }
+            start.countDown();
+            int succeeded = 0;
+            for (Future<Integer> result : results) {
+                succeeded += result.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(40, succeeded);
+            assertEquals(new BigDecimal("10.0000"), balance(accountId));
+        } finally {
+            executor.shutdownNow();
+            jdbcTemplate.update("DELETE FROM accounts WHERE id = ?", accountId);
+        }
+    }
+
+    @Test
+    @DisplayName("Should lock accounts in the order PostgreSQL sorts their IDs")
+    void findAllByIdForUpdate_LockOrder() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            ids.add(account("1.0000"));
+        }
+
+        List<UUID> locked = accountRepository.findAllByIdForUpdate(ids).stream().map(Account::getId).toList();
+
+        assertEquals(ids.stream().sorted(AccountRepository.LOCK_ORDER).toList(), locked);
+    }
+
+    private UUID account(String balance) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO accounts (id, user_id, currency, balance) VALUES (?, ?, 'USD', ?)",
+                id, UUID.randomUUID(), new BigDecimal(balance));
+        return id;
+    }
+
+    private BigDecimal balance(UUID accountId) {
+        return jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE id = ?", BigDecimal.class, accountId);
+    }
+}
@@ -0,0 +1,120 @@
+package com.banking.ledger.domain.repository;
+
+import com.banking.ledger.domain.model.Account;
+import com.banking.ledger.domain.model.LedgerEntry;
+import com.banking.ledger.domain.model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@DisplayName("LedgerEntryRepository Tests")
+class LedgerEntryRepositoryTest {
+
+    private static final int ENTRY_COUNT = 100;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Account account;
+    private List<UUID> expectedOrder;
+
+    @BeforeEach
+    void setUp() {
+        account = entityManager.persist(Account.builder()
+                .userId(UUID.randomUUID())
+                .currency("USD")
+                .balance(BigDecimal.ZERO)
+                .build());
+        Account otherAccount = entityManager.persist(Account.builder()
+                .userId(UUID.randomUUID())
+                .currency("USD")
+                .balance(BigDecimal.ZERO)
+                .build());
+
+        // Several entries share a timestamp so the id tie-breaker is exercised
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<LedgerEntry> entries = new ArrayList<>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            // Entries share their transaction's created_at, the partition key
+            LocalDateTime createdAt = base.plusSeconds(i / 3);
+            Transaction transaction = entityManager.persist(Transaction.builder()
+                    .referenceId("ref-" + i)
+                    .type(Transaction.TransactionType.DEPOSIT)
+                    .status(Transaction.TransactionStatus.POSTED)
+                    .createdAt(createdAt)
+                    .build());
+            entries.add(entry(transaction, account, createdAt));
+            entries.add(entry(transaction, otherAccount, createdAt));
+        }
+        entityManager.flush();
+        new LedgerJdbcRepository(jdbcTemplate).insertLedgerEntries(entries);
+        entityManager.clear();
+
+        expectedOrder = jdbcTemplate.queryForList(
+                "SELECT id FROM ledger_entries WHERE account_id = ? ORDER BY created_at DESC, id DESC",
+                UUID.class, account.getId());
+    }
+
+    @Test
+    @DisplayName("History export should read oldest first and stop when the sink declines")
+    void streamHistory_OldestFirst() {
+        LedgerJdbcRepository jdbcRepository = new LedgerJdbcRepository(jdbcTemplate);
+        List<UUID> streamed = new ArrayList<>();
+
+        long read = jdbcRepository.streamHistory(account.getId(), null, null, 2, row -> streamed.add(row.entryId()));
+
+        assertEquals(ENTRY_COUNT, read);
+        assertEquals(expectedOrder.reversed(), streamed);
+
+        List<UUID> firstThree = new ArrayList<>();
+        jdbcRepository.streamHistory(account.getId(), null, null, 2,
+                row -> firstThree.add(row.entryId()) && firstThree.size() < 3);
+        assertEquals(streamed.subList(0, 3), firstThree);
+    }
+
+    @Test
+    @DisplayName("History export should filter on a half-open time range across accounts")
+    void streamHistory_TimeRange() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<LedgerHistoryRow> rows = new ArrayList<>();
+
+        new LedgerJdbcRepository(jdbcTemplate).streamHistory(null, base.plusSeconds(1), base.plusSeconds(2), 10,
+                rows::add);
+
+        // Three transactions fall in [12:00:01, 12:00:02), each with an entry on both accounts
+        assertEquals(6, rows.size());
+        assertTrue(rows.stream().allMatch(r -> r.createdAt().equals(base.plusSeconds(1))));
+    }
+
+    private static LedgerEntry entry(Transaction transaction, Account account, LocalDateTime createdAt) {
+        LedgerEntry entry = LedgerEntry.builder()
+                .transaction(transaction)
+                .account(account)
+                .amount(BigDecimal.ONE)
+                .direction(LedgerEntry.EntryDirection.CREDIT)
+                .balanceAfter(BigDecimal.ONE)
+                .createdAt(createdAt)
+                .build();
+        entry.prePersist();
+        return entry;
+    }
+}
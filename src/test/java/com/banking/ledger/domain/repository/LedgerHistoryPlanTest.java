@@ -0,0 +1,161 @@
+package com.banking.ledger.domain.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the PostgreSQL plans of the history page and as-of balance queries
+ * against the real migrations: each must read ledger_entries through an
+ * index-only range scan of idx_ledger_account_history with no sort step.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // VACUUM cannot run in a transaction
+@DisplayName("Ledger history query plans")
+class LedgerHistoryPlanTest {
+
+    private static final UUID HOT_ACCOUNT = UUID.fromString("00000000-0000-7000-8000-000000000001");
+    private static final int HOT_ENTRIES = 5_000;
+    private static final int OTHER_ACCOUNTS = 500;
+
+    private static EmbeddedPostgres postgres;
+    private static boolean loaded;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        try {
+            postgres = EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void loadHistory() {
+        if (loaded) {
+            return;
+        }
+        // One busy account among many quiet ones, all in the current month's partition
+        jdbcTemplate.update("""
+                INSERT INTO accounts (id, user_id, currency, balance)
+                SELECT CASE WHEN n = 0 THEN ?::uuid ELSE gen_random_uuid() END, gen_random_uuid(), 'USD', 0
+                FROM generate_series(0, ?) n
+                """, HOT_ACCOUNT, OTHER_ACCOUNTS);
+        jdbcTemplate.update("""
+                INSERT INTO transactions (id, reference_id, type, status, created_at)
+                SELECT gen_random_uuid(), 'ref-' || n, 'DEPOSIT', 'POSTED',
+                       date_trunc('month', now()) + n * INTERVAL '1 second'
+                FROM generate_series(1, ?) n
+                """, HOT_ENTRIES + OTHER_ACCOUNTS * 10);
+        jdbcTemplate.update("""
+                INSERT INTO ledger_entries (id, transaction_id, account_id, amount, direction, balance_after, created_at)
+                SELECT gen_random_uuid(), t.id,
+                       CASE WHEN n <= ? THEN ?::uuid
+                            ELSE (SELECT id FROM accounts ORDER BY id OFFSET n % ? LIMIT 1) END,
+                       10, 'CREDIT', 10 * n, t.created_at
+                FROM transactions t, LATERAL (SELECT substr(t.reference_id, 5)::int AS n) s
+                """, HOT_ENTRIES, HOT_ACCOUNT, OTHER_ACCOUNTS);
+        jdbcTemplate.execute("VACUUM ANALYZE");
+        loaded = true;
+    }
+
+    @Test
+    @DisplayName("First page should be an index-only range scan without a sort")
+    void findHistoryPage_IndexOnlyScan() {
+        assertHistoryPlan(explain(ReactiveLedgerEntryRepository.SELECT_HISTORY_PAGE, "uuid, bigint, int",
+                "'" + HOT_ACCOUNT + "', 0, 50"));
+    }
+
+    @Test
+    @DisplayName("Keyset page should be an index-only range scan without a sort")
+    void findHistoryPageBefore_IndexOnlyScan() {
+        Map<String, Object> cursor = jdbcTemplate.queryForMap("""
+                SELECT created_at::timestamp::text AS created_at, id::text AS id
+                FROM ledger_entries
+                WHERE account_id = ?
+                ORDER BY created_at DESC, id DESC
+                OFFSET 999 LIMIT 1
+                """, HOT_ACCOUNT);
+
+        assertHistoryPlan(explain(ReactiveLedgerEntryRepository.SELECT_HISTORY_PAGE_BEFORE,
+                "uuid, timestamp, uuid, int",
+                "'" + HOT_ACCOUNT + "', '" + cursor.get("created_at") + "', '" + cursor.get("id") + "', 50"));
+    }
+
+    @Test
+    @DisplayName("As-of balance should sum an index-only range without a sort")
+    void findBalanceAsOf_IndexOnlyScan() {
+        String asOf = jdbcTemplate.queryForObject(
+                "SELECT (date_trunc('month', now()) + INTERVAL '1 hour')::timestamp::text", String.class);
+
+        assertHistoryPlan(explain(ReactiveAccountRepository.SELECT_BALANCE_AS_OF, "uuid, timestamp",
+                "'" + HOT_ACCOUNT + "', '" + asOf + "'"));
+    }
+
+    private static void assertHistoryPlan(String plan) {
+        assertFalse(plan.contains("Sort"), () -> "History page sorts instead of reading in index order:\n" + plan);
+        assertTrue(plan.contains("Index Only Scan using ledger_entries_"), () -> "Not index-only:\n" + plan);
+        assertTrue(plan.contains("account_id_created_at_id"), () -> "Unexpected index:\n" + plan);
+    }
+
+    /**
+     * Explains a statement as R2DBC sends it: prepared with positional
+     * parameters of the bound types, then executed with the given values.
+     * Sequential scans are disabled so the plan only depends on what the
+     * indexes can serve, not on how small the test tables are.
+     */
+    private String explain(String sql, String parameterTypes, String arguments) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+                statement.execute("PREPARE history_page(" + parameterTypes + ") AS " + sql);
+                List<String> lines = new ArrayList<>();
+                try (ResultSet rs = statement.executeQuery("EXPLAIN EXECUTE history_page(" + arguments + ")")) {
+                    while (rs.next()) {
+                        lines.add(rs.getString(1));
+                    }
+                }
+                return String.join("\n", lines);
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("DEALLOCATE history_page");
+                    statement.execute("RESET enable_seqscan");
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,123 @@
+package com.banking.ledger.domain.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the outbox relay lock against PostgreSQL: held by its own session
+ * across transactions, never inside one, and released before its connection
+ * returns to the pool. Also checks that purging is an index range.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // The lock is taken outside any transaction
+@DisplayName("OutboxRepository Integration Tests")
+class OutboxRepositoryTest {
+
+    private static final String COUNT_ADVISORY_LOCKS = "SELECT count(*) FROM pg_locks WHERE locktype = 'advisory'";
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        try {
+            postgres = EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    @DisplayName("Should let one holder relay at a time, without an open transaction, until it closes")
+    void tryLockRelay_ExclusiveSessionLock() {
+        OutboxRepository outboxRepository = new OutboxRepository(jdbcTemplate);
+
+        Optional<OutboxRepository.RelayLock> held = outboxRepository.tryLockRelay();
+        assertTrue(held.isPresent());
+        try {
+            assertTrue(held.get().isHeld());
+            assertTrue(outboxRepository.tryLockRelay().isEmpty());
+            assertEquals(1, jdbcTemplate.queryForObject(COUNT_ADVISORY_LOCKS, Integer.class));
+            assertEquals(0, jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM pg_stat_activity WHERE state LIKE 'idle in transaction%'", Integer.class));
+        } finally {
+            held.get().close();
+        }
+
+        // Released, not returned to the pool still locked
+        assertEquals(0, jdbcTemplate.queryForObject(COUNT_ADVISORY_LOCKS, Integer.class));
+        Optional<OutboxRepository.RelayLock> retaken = outboxRepository.tryLockRelay();
+        assertTrue(retaken.isPresent());
+        retaken.get().close();
+    }
+
+    @Test
+    @DisplayName("Should report the lock lost once its session ends")
+    void relayLock_LostWithSession() {
+        OutboxRepository outboxRepository = new OutboxRepository(jdbcTemplate);
+        OutboxRepository.RelayLock lock = outboxRepository.tryLockRelay().orElseThrow();
+
+        jdbcTemplate.queryForObject(
+                "SELECT pg_terminate_backend(pid) FROM pg_locks WHERE locktype = 'advisory'", Boolean.class);
+
+        assertFalse(lock.isHeld());
+        lock.close();
+        assertTrue(outboxRepository.tryLockRelay().map(retaken -> {
+            retaken.close();
+            return true;
+        }).orElse(false));
+    }
+
+    @Test
+    @DisplayName("Purging should range-scan published events instead of the whole outbox")
+    void deleteSentBefore_UsesSentAtIndex() {
+        String plan = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                // Too few rows for the planner to prefer an index on its own
+                statement.execute("SET enable_seqscan = off");
+                try (ResultSet rows = statement.executeQuery("EXPLAIN " + OutboxRepository.DELETE_SENT_BEFORE
+                        .replace("?", "now() - INTERVAL '1 day'"))) {
+                    StringBuilder text = new StringBuilder();
+                    while (rows.next()) {
+                        text.append(rows.getString(1)).append('\n');
+                    }
+                    return text.toString();
+                } finally {
+                    statement.execute("RESET enable_seqscan");
+                }
+            }
+        });
+
+        assertTrue(plan.contains("idx_outbox_sent_at"), () -> "Purge does not use the sent_at index:\n" + plan);
+    }
+}
@@ -0,0 +1,106 @@
+package com.banking.ledger.domain.repository;
+
+import com.banking.ledger.domain.model.Transaction;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks reference ID uniqueness against the real migrations, where it is
+ * enforced by the transaction_references primary key rather than an index on
+ * the partitioned transactions table.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(LedgerJdbcRepository.class)
+@DisplayName("TransactionRepository Integration Tests")
+class TransactionRepositoryTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private LedgerJdbcRepository ledgerJdbcRepository;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        try {
+            postgres = EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    @DisplayName("Should resolve a transaction by the reference it claimed")
+    void findByReferenceId_ClaimedReference() {
+        Transaction saved = transactionRepository.saveAndFlush(transaction("ref-claimed"));
+
+        Transaction found = transactionRepository.findByReferenceId("ref-claimed").orElseThrow();
+
+        assertEquals(saved.getId(), found.getId());
+        assertEquals(Transaction.TransactionStatus.POSTED,
+                transactionRepository.findReference("ref-claimed").orElseThrow().getStatus());
+        assertEquals(1, transactionRepository.findExistingReferenceIds(List.of("ref-claimed", "ref-free"))
+                .size());
+    }
+
+    @Test
+    @DisplayName("Should fail the insert of a reused reference with a unique violation")
+    void saveAndFlush_DuplicateReference() {
+        transactionRepository.saveAndFlush(transaction("ref-reused"));
+
+        DataIntegrityViolationException e = assertThrows(DataIntegrityViolationException.class,
+                () -> transactionRepository.saveAndFlush(transaction("ref-reused")));
+
+        SQLException cause = assertInstanceOf(SQLException.class, NestedExceptionUtils.getMostSpecificCause(e));
+        assertEquals("23505", cause.getSQLState());
+    }
+
+    @Test
+    @DisplayName("Should fail a JDBC batch that reuses a reference with a unique violation")
+    void insertTransactions_DuplicateReference() {
+        transactionRepository.saveAndFlush(transaction("ref-batch"));
+        Transaction reused = transaction("ref-batch");
+        reused.prePersist();
+
+        DataIntegrityViolationException e = assertThrows(DataIntegrityViolationException.class,
+                () -> ledgerJdbcRepository.insertTransactions(List.of(reused)));
+
+        assertTrue(NestedExceptionUtils.getMostSpecificCause(e).getMessage().contains("transaction_references_pkey"));
+        assertEquals("23505", assertInstanceOf(SQLException.class, e.getCause()).getSQLState());
+    }
+
+    private static Transaction transaction(String referenceId) {
+        return Transaction.builder()
+                .referenceId(referenceId)
+                .type(Transaction.TransactionType.DEPOSIT)
+                .status(Transaction.TransactionStatus.POSTED)
+                .build();
+    }
+}
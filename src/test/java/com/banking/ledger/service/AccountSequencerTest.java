@@ -0,0 +1,102 @@
+package com.banking.ledger.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AccountSequencer Unit Tests")
+class AccountSequencerTest {
+
+    private static final int THREADS = 8;
+    private static final int ITERATIONS = 2_000;
+
+    @Test
+    @DisplayName("Should run work on the same account one at a time")
+    void execute_SerializesSameAccount() throws Exception {
+        AccountSequencer sequencer = new AccountSequencer(true, 16);
+        UUID hotAccount = UUID.randomUUID();
+        int[] balance = { 0 }; // Deliberately unsynchronized
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+
+        runConcurrently(() -> sequencer.execute(UUID.randomUUID(), hotAccount, () -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            balance[0]++;
+            concurrent.decrementAndGet();
+            return null;
+        }));
+
+        assertEquals(THREADS * ITERATIONS, balance[0]);
+        assertEquals(1, maxConcurrent.get());
+    }
+
+    @Test
+    @DisplayName("Should not deadlock on transfers in opposite directions")
+    void execute_OppositeTransfersDoNotDeadlock() throws Exception {
+        AccountSequencer sequencer = new AccountSequencer(true, 16);
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        AtomicInteger counter = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> forward = executor.submit(() -> {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    sequencer.execute(a, b, counter::incrementAndGet);
+                }
+            });
+            Future<?> backward = executor.submit(() -> {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    sequencer.execute(b, a, counter::incrementAndGet);
+                }
+            });
+            forward.get(10, TimeUnit.SECONDS);
+            backward.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(2 * ITERATIONS, counter.get());
+    }
+
+    @Test
+    @DisplayName("Should run work directly when disabled")
+    void execute_Disabled() {
+        AccountSequencer sequencer = new AccountSequencer(false, 16);
+        assertEquals("done", sequencer.execute(UUID.randomUUID(), null, () -> "done"));
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive stripe count")
+    void constructor_InvalidStripes() {
+        assertThrows(IllegalArgumentException.class, () -> new AccountSequencer(true, 0));
+    }
+
+    private static void runConcurrently(Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        task.run();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
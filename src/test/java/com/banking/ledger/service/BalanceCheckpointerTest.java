@@ -0,0 +1,95 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.domain.repository.BalanceCheckpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BalanceCheckpointer Unit Tests")
+class BalanceCheckpointerTest {
+
+    private static final LocalDateTime AS_OF = LocalDateTime.of(2026, 10, 18, 9, 0);
+    private static final Duration POSTING_TIMEOUT = Duration.ofSeconds(30);
+
+    @Mock
+    private BalanceCheckpointRepository checkpointRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    @DisplayName("Should checkpoint the last interval boundary at least settle-delay old")
+    void cutoff_AlignsToInterval() {
+        BalanceCheckpointer checkpointer = checkpointer(Duration.ofHours(1), Duration.ofMinutes(5));
+
+        assertEquals(AS_OF, checkpointer.cutoff(LocalDateTime.of(2026, 10, 18, 9, 5)));
+        assertEquals(AS_OF, checkpointer.cutoff(LocalDateTime.of(2026, 10, 18, 10, 4, 59)));
+        assertEquals(LocalDateTime.of(2026, 10, 18, 0, 15),
+                checkpointer(Duration.ofMinutes(15), Duration.ofMinutes(1))
+                        .cutoff(LocalDateTime.of(2026, 10, 18, 0, 29)));
+    }
+
+    @Test
+    @DisplayName("Should refuse a settle-delay a posting transaction can outlast")
+    void constructor_SettleDelayBelowPostingTimeout() {
+        assertThrows(IllegalArgumentException.class, () -> checkpointer(Duration.ofHours(1), POSTING_TIMEOUT));
+        assertThrows(IllegalArgumentException.class, () -> checkpointer(Duration.ofHours(1), Duration.ofSeconds(10)));
+        // Without checkpoints nothing depends on the bound
+        assertDoesNotThrow(() -> new BalanceCheckpointer(checkpointRepository, transactionManager, false,
+                Duration.ofHours(1), Duration.ZERO, POSTING_TIMEOUT));
+    }
+
+    @Test
+    @DisplayName("Should write checkpoints newer than the latest round")
+    void checkpoint_WritesNewRound() {
+        when(checkpointRepository.tryLockCheckpoints()).thenReturn(true);
+        when(checkpointRepository.findLatestAsOf()).thenReturn(AS_OF.minusHours(1));
+
+        assertTrue(checkpointer(Duration.ofHours(1), Duration.ofMinutes(5)).checkpoint(AS_OF));
+
+        verify(checkpointRepository).checkpoint(AS_OF);
+    }
+
+    @Test
+    @DisplayName("Should not repeat a round already written")
+    void checkpoint_RoundAlreadyWritten() {
+        when(checkpointRepository.tryLockCheckpoints()).thenReturn(true);
+        when(checkpointRepository.findLatestAsOf()).thenReturn(AS_OF);
+
+        assertTrue(checkpointer(Duration.ofHours(1), Duration.ofMinutes(5)).checkpoint(AS_OF));
+
+        verify(checkpointRepository, never()).checkpoint(any());
+    }
+
+    @Test
+    @DisplayName("Should do nothing while another node holds the lock")
+    void checkpoint_LockHeldElsewhere() {
+        when(checkpointRepository.tryLockCheckpoints()).thenReturn(false);
+
+        assertFalse(checkpointer(Duration.ofHours(1), Duration.ofMinutes(5)).checkpoint(AS_OF));
+
+        verify(checkpointRepository, never()).checkpoint(any());
+    }
+
+    private BalanceCheckpointer checkpointer(Duration interval, Duration settleDelay) {
+        return new BalanceCheckpointer(checkpointRepository, transactionManager, true, interval, settleDelay,
+                POSTING_TIMEOUT);
+    }
+}
@@ -0,0 +1,101 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.grpc.PostTransactionRequest;
+import com.banking.ledger.grpc.TransactionResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GroupCommitPoster Unit Tests")
+class GroupCommitPosterTest {
+
+    @Mock
+    private PostingService postingService;
+
+    private GroupCommitPoster poster;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TransientFailureRetrier retrier = new TransientFailureRetrier(1, Duration.ZERO, Duration.ZERO,
+                registry.counter("attempts"), registry.counter("recovered"), registry.counter("exhausted"));
+        poster = new GroupCommitPoster(postingService, retrier, Duration.ZERO, 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        poster.stop();
+    }
+
+    @Test
+    @DisplayName("Should reject a submit once stopped")
+    void submit_AfterStop() {
+        poster.start();
+        poster.stop();
+
+        assertThrows(RejectedExecutionException.class, () -> poster.submit(request("late"), response -> { }));
+        verifyNoInteractions(postingService);
+    }
+
+    @Test
+    @DisplayName("Should wake a submitter blocked on a full queue on stop and still commit what was queued")
+    void submit_BlockedUntilStop() throws Exception {
+        CountDownLatch committing = new CountDownLatch(1);
+        when(postingService.postBatch(anyList())).thenAnswer(invocation -> {
+            committing.countDown();
+            release.await();
+            List<PostTransactionRequest> requests = invocation.getArgument(0);
+            return requests.stream()
+                    .map(r -> TransactionResponse.newBuilder().setReferenceId(r.getReferenceId()).build())
+                    .toList();
+        });
+        List<String> acked = new CopyOnWriteArrayList<>();
+        poster.start();
+
+        // The committer holds the first posting and the second fills the queue
+        poster.submit(request("first"), response -> acked.add(response.getReferenceId()));
+        assertTrue(committing.await(2, TimeUnit.SECONDS));
+        poster.submit(request("second"), response -> acked.add(response.getReferenceId()));
+
+        CompletableFuture<Void> blocked = CompletableFuture.runAsync(() -> {
+            try {
+                poster.submit(request("blocked"), response -> acked.add(response.getReferenceId()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        CompletableFuture<Void> stopping = CompletableFuture.runAsync(poster::stop);
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> blocked.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, thrown.getCause());
+
+        release.countDown();
+        stopping.get(2, TimeUnit.SECONDS);
+        assertEquals(List.of("first", "second"), acked);
+    }
+
+    private static PostTransactionRequest request(String referenceId) {
+        return PostTransactionRequest.newBuilder().setReferenceId(referenceId).build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.exception.InvalidInputException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HistoryCursor Unit Tests")
+class HistoryCursorTest {
+
+    @Test
+    @DisplayName("Should round-trip a cursor with microsecond precision")
+    void encodeDecode_RoundTrip() {
+        HistoryCursor cursor = new HistoryCursor(LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_000),
+                UUID.randomUUID());
+
+        String encoded = cursor.encode();
+
+        assertTrue(encoded.matches("^[A-Za-z0-9_-]+$"));
+        assertEquals(cursor, HistoryCursor.decode(encoded));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "not base64!", "bm8tc2VwYXJhdG9y", "MjAyNC0xMy0wMXxub3QtYS11dWlk" })
+    @DisplayName("Should reject malformed cursors")
+    void decode_Invalid(String cursor) {
+        assertThrows(InvalidInputException.class, () -> HistoryCursor.decode(cursor));
+    }
+}
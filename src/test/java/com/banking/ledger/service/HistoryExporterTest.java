@@ -0,0 +1,157 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.domain.model.LedgerEntry;
+import com.banking.ledger.domain.model.Transaction;
+import com.banking.ledger.domain.repository.LedgerHistoryRow;
+import com.banking.ledger.domain.repository.LedgerJdbcRepository;
+import com.banking.ledger.grpc.TransactionSummary;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HistoryExporter Unit Tests")
+class HistoryExporterTest {
+
+    private static final UUID ACCOUNT_ID = UUID.randomUUID();
+
+    @Mock
+    private LedgerJdbcRepository ledgerJdbcRepository;
+    @Mock
+    private ServerCallStreamObserver<TransactionSummary> observer;
+
+    private HistoryExporter exporter;
+    private final AtomicBoolean ready = new AtomicBoolean();
+
+    @AfterEach
+    void tearDown() {
+        if (exporter != null) {
+            exporter.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should hold rows back until the client is ready, then complete")
+    void export_WaitsForReady() throws Exception {
+        exporter = new HistoryExporter(ledgerJdbcRepository, 100, 2, Duration.ofSeconds(5));
+        streamRows(3);
+        lenient().when(observer.isReady()).thenAnswer(invocation -> ready.get());
+
+        exporter.export(ACCOUNT_ID, null, null, observer);
+        Runnable onReady = captureOnReady();
+
+        Thread.sleep(100);
+        verify(observer, never()).onNext(any());
+
+        ready.set(true);
+        onReady.run();
+
+        verify(observer, timeout(2000)).onCompleted();
+        ArgumentCaptor<TransactionSummary> captor = ArgumentCaptor.forClass(TransactionSummary.class);
+        verify(observer, times(3)).onNext(captor.capture());
+        assertEquals(List.of("ref-0", "ref-1", "ref-2"),
+                captor.getAllValues().stream().map(TransactionSummary::getReferenceId).toList());
+        assertEquals(ACCOUNT_ID.toString(), captor.getValue().getAccountId());
+        verify(ledgerJdbcRepository).streamHistory(eq(ACCOUNT_ID), isNull(), isNull(), eq(100), any());
+    }
+
+    @Test
+    @DisplayName("Should stop reading when the client cancels")
+    void export_StopsOnCancel() {
+        exporter = new HistoryExporter(ledgerJdbcRepository, 100, 2, Duration.ofSeconds(5));
+        streamRows(3);
+        when(observer.isReady()).thenReturn(false);
+
+        exporter.export(ACCOUNT_ID, null, null, observer);
+        ArgumentCaptor<Runnable> onCancel = ArgumentCaptor.forClass(Runnable.class);
+        verify(observer).setOnCancelHandler(onCancel.capture());
+        onCancel.getValue().run();
+
+        verify(ledgerJdbcRepository, timeout(2000)).streamHistory(any(), any(), any(), anyInt(), any());
+        verify(observer, after(200).never()).onNext(any());
+        verify(observer, never()).onCompleted();
+        verify(observer, never()).onError(any());
+    }
+
+    @Test
+    @DisplayName("Should abort an export whose client stops reading")
+    void export_AbortsStalledClient() {
+        exporter = new HistoryExporter(ledgerJdbcRepository, 100, 2, Duration.ofMillis(50));
+        streamRows(1);
+        when(observer.isReady()).thenReturn(false);
+
+        exporter.export(ACCOUNT_ID, null, null, observer);
+
+        ArgumentCaptor<Throwable> errorCaptor = ArgumentCaptor.forClass(Throwable.class);
+        verify(observer, timeout(2000)).onError(errorCaptor.capture());
+        assertEquals(Status.Code.DEADLINE_EXCEEDED, Status.fromThrowable(errorCaptor.getValue()).getCode());
+        verify(observer, never()).onNext(any());
+    }
+
+    @Test
+    @DisplayName("Should reject exports beyond the concurrency limit")
+    void export_RejectsWhenBusy() {
+        exporter = new HistoryExporter(ledgerJdbcRepository, 100, 1, Duration.ofSeconds(5));
+        streamRows(1);
+        when(observer.isReady()).thenReturn(false);
+        @SuppressWarnings("unchecked")
+        ServerCallStreamObserver<TransactionSummary> second = mock(ServerCallStreamObserver.class);
+
+        exporter.export(ACCOUNT_ID, null, null, observer);
+        verify(observer, timeout(2000).atLeastOnce()).isReady();
+        exporter.export(ACCOUNT_ID, null, null, second);
+
+        ArgumentCaptor<Throwable> errorCaptor = ArgumentCaptor.forClass(Throwable.class);
+        verify(second).onError(errorCaptor.capture());
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, Status.fromThrowable(errorCaptor.getValue()).getCode());
+    }
+
+    private Runnable captureOnReady() {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(observer).setOnReadyHandler(captor.capture());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamRows(int count) {
+        when(ledgerJdbcRepository.streamHistory(any(), any(), any(), anyInt(), any())).thenAnswer(invocation -> {
+            Predicate<LedgerHistoryRow> sink = invocation.getArgument(4);
+            long read = 0;
+            for (int i = 0; i < count; i++) {
+                read++;
+                if (!sink.test(row(i))) {
+                    break;
+                }
+            }
+            return read;
+        });
+    }
+
+    private static LedgerHistoryRow row(int i) {
+        return new LedgerHistoryRow(UUID.randomUUID(), ACCOUNT_ID, UUID.randomUUID(), "ref-" + i,
+                Transaction.TransactionType.DEPOSIT, Transaction.TransactionStatus.POSTED,
+                new BigDecimal("10.0000"), LedgerEntry.EntryDirection.CREDIT, new BigDecimal("10.0000"),
+                LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i));
+    }
+}
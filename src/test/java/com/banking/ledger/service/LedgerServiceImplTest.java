@@ -3,15 +3,26 @@ package com.banking.ledger.service;
 import com.banking.ledger.domain.model.Account;
 import com.banking.ledger.domain.model.LedgerEntry;
 import com.banking.ledger.domain.model.Transaction;
+import com.banking.ledger.domain.model.TransactionReference;
 import com.banking.ledger.domain.repository.AccountRepository;
-import com.banking.ledger.domain.repository.LedgerEntryRepository;
+import com.banking.ledger.domain.repository.LedgerHistoryRow;
+import com.banking.ledger.domain.repository.LedgerJdbcRepository;
+import com.banking.ledger.domain.repository.OutboxRepository;
+import com.banking.ledger.domain.repository.ReactiveAccountRepository;
+import com.banking.ledger.domain.repository.ReactiveLedgerEntryRepository;
+import com.banking.ledger.domain.repository.ReadRoutingConnectionFactory;
 import com.banking.ledger.domain.repository.TransactionRepository;
+import com.banking.ledger.exception.BalanceHistoryUnavailableException;
 import com.banking.ledger.grpc.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -22,14 +33,40 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,9 +78,17 @@ class LedgerServiceImplTest {
     @Mock
     private TransactionRepository transactionRepository;
     @Mock
-    private LedgerEntryRepository ledgerEntryRepository;
+    private ReactiveAccountRepository reactiveAccountRepository;
     @Mock
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    private ReactiveLedgerEntryRepository reactiveLedgerEntryRepository;
+    @Mock
+    private LedgerJdbcRepository ledgerJdbcRepository;
+    @Mock
+    private OutboxRepository outboxRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ReplicaLagMonitor replicaLagMonitor;
     @Mock
     private Counter transactionCounter;
     @Mock
@@ -60,8 +105,15 @@ class LedgerServiceImplTest {
     private StreamObserver<AccountResponse> accountObserver;
     @Mock
     private StreamObserver<BalanceResponse> balanceObserver;
+    @Mock
+    private StreamObserver<PostTransactionsResponse> batchObserver;
 
     private LedgerServiceImpl ledgerService;
+    private LedgerEventPublisher eventPublisher;
+    private GroupCommitPoster groupCommitPoster;
+    private HistoryExporter historyExporter;
+    private BalanceCache balanceCache;
+    private ReferenceFilter referenceFilter;
     private UUID fromAccountId;
     private UUID toAccountId;
     private Account fromAccount;
@@ -69,16 +121,48 @@ class LedgerServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        ledgerService = new LedgerServiceImpl(
+        eventPublisher = new LedgerEventPublisher(
+                new OutboxWriter(outboxRepository, new ObjectMapper()),
+                transactionSuccessCounter,
+                accountCreationCounter);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        referenceFilter = new ReferenceFilter(ledgerJdbcRepository, true, Duration.ofHours(1), 2, 1000, 0.001,
+                100, registry.counter("filter-negative"), registry.counter("filter-false-positive"));
+        balanceCache = new BalanceCache(true, 1000, Duration.ofMinutes(1),
+                registry.counter("hits"), registry.counter("misses"));
+        PostingService postingService = new PostingService(
                 accountRepository,
                 transactionRepository,
-                ledgerEntryRepository,
-                kafkaTemplate,
+                ledgerJdbcRepository,
+                eventPublisher,
+                balanceCache,
+                referenceFilter,
+                transactionManager,
+                PostingMode.SERIALIZABLE,
+                replicaLagMonitor,
+                Duration.ofSeconds(30));
+        AccountSequencer accountSequencer = new AccountSequencer(true, 64);
+        TransientFailureRetrier retrier = new TransientFailureRetrier(3, Duration.ZERO, Duration.ZERO,
+                registry.counter("attempts"), registry.counter("recovered"), registry.counter("exhausted"));
+        groupCommitPoster = new GroupCommitPoster(postingService, retrier,
+                Duration.ofMillis(20), 100, 100);
+        historyExporter = new HistoryExporter(ledgerJdbcRepository, 100, 1, Duration.ofSeconds(5));
+        ledgerService = new LedgerServiceImpl(
+                accountRepository,
+                reactiveAccountRepository,
+                reactiveLedgerEntryRepository,
+                replicaLagMonitor,
+                postingService,
+                groupCommitPoster,
+                historyExporter,
+                accountSequencer,
+                retrier,
+                balanceCache,
+                new IdempotencyCache(true, 1000, registry.counter("replay-hits"), registry.counter("replay-misses")),
+                eventPublisher,
                 transactionCounter,
-                transactionSuccessCounter,
                 transactionFailureCounter,
-                transactionTimer,
-                accountCreationCounter);
+                transactionTimer);
 
         fromAccountId = UUID.randomUUID();
         toAccountId = UUID.randomUUID();
@@ -98,6 +182,31 @@ class LedgerServiceImplTest {
                 .balance(new BigDecimal("500.0000"))
                 .version(0L)
                 .build();
+
+        // The guarded balance updates, applied to the two accounts above
+        lenient().when(ledgerJdbcRepository.debit(any(), any(), any()))
+                .thenAnswer(i -> updateBalance(i.getArgument(0), i.getArgument(1),
+                        i.<BigDecimal>getArgument(2).negate()));
+        lenient().when(ledgerJdbcRepository.credit(any(), any(), any()))
+                .thenAnswer(i -> updateBalance(i.getArgument(0), i.getArgument(1), i.getArgument(2)));
+    }
+
+    private Optional<Account> updateBalance(UUID accountId, String currency, BigDecimal delta) {
+        Account account = accountId.equals(fromAccountId) ? fromAccount
+                : accountId.equals(toAccountId) ? toAccount : null;
+        if (account == null || !account.getCurrency().equals(currency)
+                || account.getBalance().add(delta).signum() < 0) {
+            return Optional.empty();
+        }
+        account.setBalance(account.getBalance().add(delta));
+        account.setVersion(account.getVersion() + 1);
+        return Optional.of(Account.builder()
+                .id(account.getId())
+                .userId(account.getUserId())
+                .currency(account.getCurrency())
+                .balance(account.getBalance())
+                .version(account.getVersion())
+                .build());
     }
 
     @Nested
@@ -125,6 +234,26 @@ class LedgerServiceImplTest {
             verify(accountObserver, never()).onError(any());
         }
 
+        @Test
+        @DisplayName("Should record an AccountCreatedEvent in the outbox")
+        void createAccount_WritesOutbox() {
+            when(accountRepository.save(any(Account.class))).thenAnswer(i -> {
+                Account a = i.getArgument(0);
+                a.setId(UUID.randomUUID());
+                return a;
+            });
+
+            ledgerService.createAccount(CreateAccountRequest.newBuilder()
+                    .setUserId(UUID.randomUUID().toString())
+                    .setCurrency("USD")
+                    .build(), accountObserver);
+
+            verify(outboxRepository).insert(argThat(events -> events.size() == 1
+                    && events.get(0).topic().equals(LedgerEventPublisher.ACCOUNT_CREATED_TOPIC)
+                    && events.get(0).eventType().equals("AccountCreatedEvent")
+                    && events.get(0).payload().contains("\"currency\":\"USD\"")));
+        }
+
         @Test
         @DisplayName("Should reject invalid UUID format")
         void createAccount_InvalidUUID() {
@@ -191,7 +320,7 @@ class LedgerServiceImplTest {
                     .setAccountId(fromAccountId.toString())
                     .build();
 
-            when(accountRepository.findById(fromAccountId)).thenReturn(Optional.of(fromAccount));
+            when(reactiveAccountRepository.findById(fromAccountId)).thenReturn(Mono.just(fromAccount));
 
             ledgerService.getBalance(request, balanceObserver);
 
@@ -203,6 +332,120 @@ class LedgerServiceImplTest {
             assertEquals("USD", responseCaptor.getValue().getCurrency());
         }
 
+        @Test
+        @DisplayName("Should serve repeated reads from the balance cache")
+        void getBalance_CacheHit() {
+            GetBalanceRequest request = GetBalanceRequest.newBuilder()
+                    .setAccountId(fromAccountId.toString())
+                    .build();
+
+            when(reactiveAccountRepository.findById(fromAccountId)).thenReturn(Mono.just(fromAccount));
+
+            ledgerService.getBalance(request, balanceObserver);
+            ledgerService.getBalance(request, balanceObserver);
+
+            verify(reactiveAccountRepository, times(1)).findById(fromAccountId);
+            verify(balanceObserver, times(2)).onNext(any(BalanceResponse.class));
+        }
+
+        @Test
+        @DisplayName("Should serve the committed balance after a posting without a database read")
+        void getBalance_UpdatedByPosting() {
+            when(transactionRepository.saveAndFlush(any(Transaction.class))).thenAnswer(i -> {
+                Transaction t = i.getArgument(0);
+                if (t.getId() == null)
+                    t.setId(UUID.randomUUID());
+                return t;
+            });
+            ledgerService.postTransaction(PostTransactionRequest.newBuilder()
+                    .setToAccountId(toAccountId.toString())
+                    .setAmount("25.00")
+                    .setCurrency("USD")
+                    .setReferenceId("ref-cache")
+                    .setType("DEPOSIT")
+                    .build(), transactionObserver);
+
+            ledgerService.getBalance(GetBalanceRequest.newBuilder()
+                    .setAccountId(toAccountId.toString())
+                    .build(), balanceObserver);
+
+            ArgumentCaptor<BalanceResponse> responseCaptor = ArgumentCaptor.forClass(BalanceResponse.class);
+            verify(balanceObserver).onNext(responseCaptor.capture());
+            assertEquals("525.0000", responseCaptor.getValue().getBalance());
+            // The posting's guarded update returned the balance; nothing loaded the account
+            verify(reactiveAccountRepository, never()).findById(toAccountId);
+        }
+
+        @Test
+        @DisplayName("Should not replace a newer cached balance with an older read")
+        void balanceCache_KeepsNewestVersion() {
+            Account newer = Account.builder().id(fromAccountId).currency("USD")
+                    .balance(new BigDecimal("10.0000")).version(5L).build();
+            Account older = Account.builder().id(fromAccountId).currency("USD")
+                    .balance(new BigDecimal("99.0000")).version(4L).build();
+
+            balanceCache.put(newer);
+            balanceCache.put(older);
+
+            assertEquals(new BigDecimal("10.0000"), balanceCache.get(fromAccountId).orElseThrow().balance());
+        }
+
+        @Test
+        @DisplayName("Should skip the cache and read where the monitor routes a read-your-writes request")
+        void getBalance_MinLsnRoutedRead() {
+            balanceCache.put(fromAccount);
+            Account posted = Account.builder().id(fromAccountId).currency("USD")
+                    .balance(new BigDecimal("1200.0000")).version(1L).build();
+            List<ContextView> contexts = new ArrayList<>();
+            when(replicaLagMonitor.route(new Lsn(0x1_0000_00A0L))).thenReturn("replica-0");
+            when(reactiveAccountRepository.findById(fromAccountId)).thenReturn(Mono.deferContextual(context -> {
+                contexts.add(context);
+                return Mono.just(posted);
+            }));
+
+            ledgerService.getBalance(GetBalanceRequest.newBuilder()
+                    .setAccountId(fromAccountId.toString())
+                    .setMinLsn("1/A0")
+                    .build(), balanceObserver);
+
+            ArgumentCaptor<BalanceResponse> responseCaptor = ArgumentCaptor.forClass(BalanceResponse.class);
+            verify(balanceObserver).onNext(responseCaptor.capture());
+            assertEquals("1200.0000", responseCaptor.getValue().getBalance());
+            assertEquals(ReadRoutingConnectionFactory.onReplica("replica-0").stream().toList(),
+                    contexts.get(0).stream().toList());
+        }
+
+        @Test
+        @DisplayName("Should not cache a balance read from a replica, which may lag behind newer commits")
+        void getBalance_ReplicaReadNotCached() {
+            GetBalanceRequest request = GetBalanceRequest.newBuilder()
+                    .setAccountId(fromAccountId.toString())
+                    .build();
+            when(replicaLagMonitor.route(null)).thenReturn("replica-0");
+            when(reactiveAccountRepository.findById(fromAccountId)).thenReturn(Mono.just(fromAccount));
+
+            ledgerService.getBalance(request, balanceObserver);
+            ledgerService.getBalance(request, balanceObserver);
+
+            verify(reactiveAccountRepository, times(2)).findById(fromAccountId);
+            verify(balanceObserver, times(2)).onNext(any(BalanceResponse.class));
+            assertTrue(balanceCache.get(fromAccountId).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed min_lsn")
+        void getBalance_InvalidMinLsn() {
+            ledgerService.getBalance(GetBalanceRequest.newBuilder()
+                    .setAccountId(fromAccountId.toString())
+                    .setMinLsn("not-an-lsn")
+                    .build(), balanceObserver);
+
+            ArgumentCaptor<Throwable> errorCaptor = ArgumentCaptor.forClass(Throwable.class);
+            verify(balanceObserver).onError(errorCaptor.capture());
+            assertEquals(Status.Code.INVALID_ARGUMENT, Status.fromThrowable(errorCaptor.getValue()).getCode());
+            verifyNoInteractions(reactiveAccountRepository);
+        }
+
         @Test
         @DisplayName("Should return NOT_FOUND for non-existent account")
         void getBalance_AccountNotFound() {
@@ -210,7 +453,7 @@ class LedgerServiceImplTest {
                     .setAccountId(UUID.randomUUID().toString())
                     .build();
 
-            when(accountRepository.findById(any())).thenReturn(Optional.empty());
+            when(reactiveAccountRepository.findById(any())).thenReturn(Mono.empty());
 
             ledgerService.getBalance(request, balanceObserver);
 
@@ -221,6 +464,214 @@ class LedgerServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("GetBalances Tests")
+    class GetBalancesTests {
+
+        @Mock
+        private StreamObserver<GetBalancesResponse> balancesObserver;
+
+        @Test
+        @DisplayName("Should read all cache misses in one query and report unknown or malformed ids per item")
+        void getBalances_MixedResults() {
+            balanceCache.put(fromAccount);
+            UUID unknownId = UUID.randomUUID();
+            when(reactiveAccountRepository.findAllById(any())).thenReturn(Flux.just(toAccount));
+
+            ledgerService.getBalances(GetBalancesRequest.newBuilder()
+                    .addAccountIds(fromAccountId.toString())
+                    .addAccountIds(toAccountId.toString())
+                    .addAccountIds(unknownId.toString())
+                    .addAccountIds("not-a-uuid")
+                    .addAccountIds(toAccountId.toString())
+                    .build(), balancesObserver);
+
+            ArgumentCaptor<GetBalancesResponse> responseCaptor = ArgumentCaptor.forClass(GetBalancesResponse.class);
+            verify(balancesObserver).onNext(responseCaptor.capture());
+            verify(balancesObserver).onCompleted();
+            Map<String, BalanceResponse> balances = responseCaptor.getValue().getBalancesMap();
+            assertEquals(4, balances.size());
+            assertEquals("1000.0000", balances.get(fromAccountId.toString()).getBalance());
+            assertEquals("500.0000", balances.get(toAccountId.toString()).getBalance());
+            assertEquals("", balances.get(toAccountId.toString()).getErrorCode());
+            assertEquals("NOT_FOUND", balances.get(unknownId.toString()).getErrorCode());
+            assertEquals("INVALID_ARGUMENT", balances.get("not-a-uuid").getErrorCode());
+            // Cached accounts are not read; repeated ones are read once
+            verify(reactiveAccountRepository).findAllById(Set.of(toAccountId, unknownId));
+            verify(reactiveAccountRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Should answer every ID under the form it was sent in, reading each account once")
+        void getBalances_MixedCaseIds() {
+            String upperToId = toAccountId.toString().toUpperCase();
+            String upperUnknownId = UUID.randomUUID().toString().toUpperCase();
+            String upperCachedId = fromAccountId.toString().toUpperCase();
+            balanceCache.put(fromAccount);
+            when(reactiveAccountRepository.findAllById(any())).thenReturn(Flux.just(toAccount));
+
+            ledgerService.getBalances(GetBalancesRequest.newBuilder()
+                    .addAccountIds(upperToId)
+                    .addAccountIds(toAccountId.toString())
+                    .addAccountIds(upperUnknownId)
+                    .addAccountIds(upperCachedId)
+                    .addAccountIds("NOT-A-UUID")
+                    .build(), balancesObserver);
+
+            ArgumentCaptor<GetBalancesResponse> responseCaptor = ArgumentCaptor.forClass(GetBalancesResponse.class);
+            verify(balancesObserver).onNext(responseCaptor.capture());
+            Map<String, BalanceResponse> balances = responseCaptor.getValue().getBalancesMap();
+            assertEquals(Set.of(upperToId, toAccountId.toString(), upperUnknownId, upperCachedId, "NOT-A-UUID"),
+                    balances.keySet());
+            assertEquals("500.0000", balances.get(upperToId).getBalance());
+            assertEquals("500.0000", balances.get(toAccountId.toString()).getBalance());
+            assertEquals("1000.0000", balances.get(upperCachedId).getBalance());
+            assertEquals("NOT_FOUND", balances.get(upperUnknownId).getErrorCode());
+            assertEquals("INVALID_ARGUMENT", balances.get("NOT-A-UUID").getErrorCode());
+            verify(reactiveAccountRepository).findAllById(Set.of(toAccountId, UUID.fromString(upperUnknownId)));
+        }
+
+        @Test
+        @DisplayName("Should answer from the cache alone when every balance is cached")
+        void getBalances_AllCached() {
+            balanceCache.put(fromAccount);
+            balanceCache.put(toAccount);
+
+            ledgerService.getBalances(GetBalancesRequest.newBuilder()
+                    .addAccountIds(fromAccountId.toString())
+                    .addAccountIds(toAccountId.toString())
+                    .build(), balancesObserver);
+
+            ArgumentCaptor<GetBalancesResponse> responseCaptor = ArgumentCaptor.forClass(GetBalancesResponse.class);
+            verify(balancesObserver).onNext(responseCaptor.capture());
+            assertEquals(2, responseCaptor.getValue().getBalancesCount());
+            verifyNoInteractions(reactiveAccountRepository, replicaLagMonitor);
+        }
+
+        @Test
+        @DisplayName("Should skip the cache and read where the monitor routes a read-your-writes request")
+        void getBalances_MinLsnRoutedRead() {
+            balanceCache.put(fromAccount);
+            List<ContextView> contexts = new ArrayList<>();
+            when(replicaLagMonitor.route(new Lsn(0xA0L))).thenReturn("replica-0");
+            when(reactiveAccountRepository.findAllById(any())).thenReturn(Flux.deferContextual(context -> {
+                contexts.add(context);
+                return Flux.just(fromAccount);
+            }));
+
+            ledgerService.getBalances(GetBalancesRequest.newBuilder()
+                    .addAccountIds(fromAccountId.toString())
+                    .setMinLsn("0/A0")
+                    .build(), balancesObserver);
+
+            verify(balancesObserver).onNext(any(GetBalancesResponse.class));
+            verify(reactiveAccountRepository).findAllById(Set.of(fromAccountId));
+            assertEquals(ReadRoutingConnectionFactory.onReplica("replica-0").stream().toList(),
+                    contexts.get(0).stream().toList());
+        }
+
+        @Test
+        @DisplayName("Should cache balances read from the primary but not from a replica")
+        void getBalances_CachesPrimaryReadsOnly() {
+            GetBalancesRequest request = GetBalancesRequest.newBuilder()
+                    .addAccountIds(fromAccountId.toString())
+                    .build();
+            when(replicaLagMonitor.route(null)).thenReturn("replica-0", (String) null);
+            when(reactiveAccountRepository.findAllById(any())).thenReturn(Flux.just(fromAccount));
+
+            ledgerService.getBalances(request, balancesObserver);
+            assertTrue(balanceCache.get(fromAccountId).isEmpty());
+
+            ledgerService.getBalances(request, balancesObserver);
+            assertTrue(balanceCache.get(fromAccountId).isPresent());
+            verify(balancesObserver, times(2)).onNext(any(GetBalancesResponse.class));
+        }
+
+        @Test
+        @DisplayName("Should reject an empty request")
+        void getBalances_Empty() {
+            ledgerService.getBalances(GetBalancesRequest.getDefaultInstance(), balancesObserver);
+
+            ArgumentCaptor<Throwable> errorCaptor = ArgumentCaptor.forClass(Throwable.class);
+            verify(balancesObserver).onError(errorCaptor.capture());
+            assertEquals(Status.Code.INVALID_ARGUMENT, Status.fromThrowable(errorCaptor.getValue()).getCode());
+        }
+    }
+
+    @Nested
+    @DisplayName("GetBalanceAsOf Tests")
+    class GetBalanceAsOfTests {
+
+        private final LocalDateTime asOf = LocalDateTime.of(2026, 9, 30, 23, 59, 59);
+
+        @Test
+        @DisplayName("Should return the balance at the requested time, bypassing the cache")
+        void getBalanceAsOf_Success() {
+            balanceCache.put(fromAccount);
+            Account historical = Account.builder().id(fromAccountId).currency("USD")
+                    .balance(new BigDecimal("250.0000")).build();
+            when(reactiveAccountRepository.findBalanceAsOf(fromAccountId, asOf)).thenReturn(Mono.just(historical));
+
+            ledgerService.getBalanceAsOf(GetBalanceAsOfRequest.newBuilder()
+                    .setAccountId(fromAccountId.toString())
+                    .setTimestamp("2026-09-30T23:59:59")
+                    .build(), balanceObserver);
+
+            ArgumentCaptor<BalanceResponse> responseCaptor = ArgumentCaptor.forClass(BalanceResponse.class);
+            verify(balanceObserver).onNext(responseCaptor.capture());
+            verify(balanceObserver).onCompleted();
+            assertEquals("250.0000", responseCaptor.getValue().getBalance());
+            assertEquals("USD", responseCaptor.getValue().getCurrency());
+            verify(replicaLagMonitor).route(null);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = { "", "yesterday", "2026-09-30" })
+        @DisplayName("Should reject a missing or malformed timestamp")
+        void getBalanceAsOf_InvalidTimestamp(String timestamp) {
+            ledgerService.getBalanceAsOf(GetBalanceAsOfRequest.newBuilder()
+                    .setAccountId(fromAccountId.toString())
+                    .setTimestamp(timestamp)
+                    .build(), balanceObserver);
+
+            ArgumentCaptor<Throwable> errorCaptor = ArgumentCaptor.forClass(Throwable.class);
+            verify(balanceObserver).onError(errorCaptor.capture());
+            assertEquals(Status.Code.INVALID_ARGUMENT, Status.fromThrowable(errorCaptor.getValue()).getCode());
+            verifyNoInteractions(reactiveAccountRepository);
+        }
+
+        @Test
+        @DisplayName("Should return NOT_FOUND for non-existent account")
+        void getBalanceAsOf_AccountNotFound() {
+            when(reactiveAccountRepository.findBalanceAsOf(any(), any())).thenReturn(Mono.empty());
+
+            ledgerService.getBalanceAsOf(GetBalanceAsOfRequest.newBuilder()
+                    .setAccountId(UUID.randomUUID().toString())
+                    .setTimestamp("2026-09-30T23:59:59")
+                    .build(), balanceObserver);
+
+            ArgumentCaptor<Throwable> errorCaptor = ArgumentCaptor.forClass(Throwable.class);
+            verify(balanceObserver).onError(errorCaptor.capture());
+            assertEquals(Status.Code.NOT_FOUND, Status.fromThrowable(errorCaptor.getValue()).getCode());
+        }
+
+        @Test
+        @DisplayName("Should return OUT_OF_RANGE for a time whose entries are detached")
+        void getBalanceAsOf_HistoryDetached() {
+            when(reactiveAccountRepository.findBalanceAsOf(any(), any()))
+                    .thenReturn(Mono.error(new BalanceHistoryUnavailableException("detached")));
+
+            ledgerService.getBalanceAsOf(GetBalanceAsOfRequest.newBuilder()
+                    .setAccountId(fromAccountId.toString())
+                    .setTimestamp("2026-09-30T23:59:59")
+                    .build(), balanceObserver);
+
+            ArgumentCaptor<Throwable> errorCaptor = ArgumentCaptor.forClass(Throwable.class);
+            verify(balanceObserver).onError(errorCaptor.capture());
+            assertEquals(Status.Code.OUT_OF_RANGE, Status.fromThrowable(errorCaptor.getValue()).getCode());
+        }
+    }
+
     @Nested
     @DisplayName("PostTransaction Tests")
     class PostTransactionTests {
@@ -237,10 +688,7 @@ class LedgerServiceImplTest {
                     .setType("TRANSFER")
                     .build();
 
-            when(transactionRepository.findByReferenceId("ref-12345")).thenReturn(Optional.empty());
-            when(accountRepository.findById(fromAccountId)).thenReturn(Optional.of(fromAccount));
-            when(accountRepository.findById(toAccountId)).thenReturn(Optional.of(toAccount));
-            when(transactionRepository.save(any(Transaction.class))).thenAnswer(i -> {
+            when(transactionRepository.saveAndFlush(any(Transaction.class))).thenAnswer(i -> {
                 Transaction t = i.getArgument(0);
                 if (t.getId() == null)
                     t.setId(UUID.randomUUID());
@@ -257,8 +705,123 @@ class LedgerServiceImplTest {
             assertEquals(new BigDecimal("900.0000"), fromAccount.getBalance());
             assertEquals(new BigDecimal("600.0000"), toAccount.getBalance());
 
-            // Verify ledger entries created
-            verify(ledgerEntryRepository, times(2)).save(any(LedgerEntry.class));
+            // Both ledger entries go out in one batch
+            verify(ledgerJdbcRepository).insertLedgerEntries(argThat(entries -> entries.size() == 2));
+            verify(accountRepository, never()).findById(any());
+            // Bounded, so balance checkpoints can wait out any posting in flight
+            verify(transactionManager).getTransaction(argThat(tx -> tx.getTimeout() == 30));
+        }
+
+        @Test
+        @DisplayName("Should report the commit LSN when read replicas are configured")
+        void postTransaction_CommitLsn() {
+            when(replicaLagMonitor.isEnabled()).thenReturn(true);
+            when(ledgerJdbcRepository.currentWalInsertLsn()).thenReturn("0/16B3748");
+            when(transactionRepository.saveAndFlush(any(Transaction.class))).thenAnswer(i -> {
+                Transaction t = i.getArgument(0);
+                t.setId(UUID.randomUUID());
+                return t;
+            });
+
+            ledgerService.postTransaction(PostTransactionRequest.newBuilder()
+                    .setToAccountId(toAccountId.toString())
+                    .setAmount("50.00")
+                    .setCurrency("USD")
+                    .setReferenceId("ref-lsn")
+                    .setType("DEPOSIT")
+                    .build(), transactionObserver);
+
+            ArgumentCaptor<TransactionResponse> captor = ArgumentCaptor.forClass(TransactionResponse.class);
+            verify(transactionObserver).onNext(captor.capture());
+            assertEquals("0/16B3748", captor.getValue().getCommitLsn());
+        }
+
+        @Test
+        @DisplayName("Should retry a posting that lost a serialization race")
+        void postTransaction_RetriesSerializationFailure() {
+            PostTransactionRequest request = PostTransactionRequest.newBuilder()
+                    .setToAccountId(toAccountId.toString())
+                    .setAmount("50.00")
+                    .setCurrency("USD")
+                    .setReferenceId("ref-retry")
+                    .setType("DEPOSIT")
+                    .build();
+
+            when(transactionRepository.saveAndFlush(any(Transaction.class)))
+                    .thenThrow(new CannotAcquireLockException("could not serialize access"))
+                    .thenAnswer(i -> {
+                        Transaction t = i.getArgument(0);
+                        if (t.getId() == null)
+                            t.setId(UUID.randomUUID());
+                        return t;
+                    });
+
+            ledgerService.postTransaction(request, transactionObserver);
+
+            verify(transactionObserver).onNext(any(TransactionResponse.class));
+            verify(transactionObserver).onCompleted();
+            verify(transactionObserver, never()).onError(any());
+            assertEquals(new BigDecimal("550.0000"), toAccount.getBalance());
+        }
+
+        @Test
+        @DisplayName("Should replay the original response to a retried posting from memory")
+        void postTransaction_ReplaysFromMemory() {
+            PostTransactionRequest request = PostTransactionRequest.newBuilder()
+                    .setToAccountId(toAccountId.toString())
+                    .setAmount("50.00")
+                    .setCurrency("USD")
+                    .setReferenceId("ref-replay")
+                    .setType("DEPOSIT")
+                    .build();
+            when(transactionRepository.saveAndFlush(any(Transaction.class))).thenAnswer(i -> {
+                Transaction t = i.getArgument(0);
+                t.setId(UUID.randomUUID());
+                return t;
+            });
+
+            ledgerService.postTransaction(request, transactionObserver);
+            ledgerService.postTransaction(request, transactionObserver);
+
+            ArgumentCaptor<TransactionResponse> captor = ArgumentCaptor.forClass(TransactionResponse.class);
+            verify(transactionObserver, times(2)).onNext(captor.capture());
+            assertEquals(captor.getAllValues().get(0), captor.getAllValues().get(1));
+            verify(transactionObserver, never()).onError(any());
+            verify(transactionRepository, times(1)).saveAndFlush(any());
+            assertEquals(new BigDecimal("550.0000"), toAccount.getBalance());
+        }
+
+        @Test
+        @DisplayName("Should replay the stored response to a duplicate posted elsewhere")
+        void postTransaction_ReplaysStoredResponse() {
+            PostTransactionRequest request = PostTransactionRequest.newBuilder()
+                    .setToAccountId(toAccountId.toString())
+                    .setAmount("50.00")
+                    .setCurrency("USD")
+                    .setReferenceId("ref-stored")
+                    .setType("DEPOSIT")
+                    .build();
+            UUID originalId = UUID.randomUUID();
+            when(transactionRepository.saveAndFlush(any(Transaction.class)))
+                    .thenThrow(new DataIntegrityViolationException("duplicate key",
+                            new SQLException("duplicate key value violates unique constraint", "23505")));
+            when(transactionRepository.findReference("ref-stored")).thenReturn(Optional.of(
+                    TransactionReference.builder()
+                            .referenceId("ref-stored")
+                            .transactionId(originalId)
+                            .status(Transaction.TransactionStatus.POSTED)
+                            .build()));
+
+            ledgerService.postTransaction(request, transactionObserver);
+            ledgerService.postTransaction(request, transactionObserver);
+
+            ArgumentCaptor<TransactionResponse> captor = ArgumentCaptor.forClass(TransactionResponse.class);
+            verify(transactionObserver, times(2)).onNext(captor.capture());
+            assertEquals(originalId.toString(), captor.getValue().getTransactionId());
+            assertEquals("POSTED", captor.getValue().getStatus());
+            verify(transactionObserver, never()).onError(any());
+            // The second duplicate is answered from memory
+            verify(transactionRepository, times(1)).findReference("ref-stored");
         }
 
         @Test
@@ -273,8 +836,9 @@ class LedgerServiceImplTest {
                     .setType("TRANSFER")
                     .build();
 
-            when(transactionRepository.findByReferenceId("ref-duplicate"))
-                    .thenReturn(Optional.of(Transaction.builder().build()));
+            when(transactionRepository.saveAndFlush(any(Transaction.class)))
+                    .thenThrow(new DataIntegrityViolationException("duplicate key",
+                            new SQLException("duplicate key value violates unique constraint", "23505")));
 
             ledgerService.postTransaction(request, transactionObserver);
 
@@ -282,6 +846,30 @@ class LedgerServiceImplTest {
             verify(transactionObserver).onError(errorCaptor.capture());
             assertEquals(Status.Code.ALREADY_EXISTS,
                     Status.fromThrowable(errorCaptor.getValue()).getCode());
+            verify(accountRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Should not report other integrity violations as duplicates")
+        void postTransaction_OtherIntegrityViolation() {
+            PostTransactionRequest request = PostTransactionRequest.newBuilder()
+                    .setToAccountId(toAccountId.toString())
+                    .setAmount("100.00")
+                    .setCurrency("USD")
+                    .setReferenceId("ref-not-null")
+                    .setType("DEPOSIT")
+                    .build();
+
+            when(transactionRepository.saveAndFlush(any(Transaction.class)))
+                    .thenThrow(new DataIntegrityViolationException("not null",
+                            new SQLException("null value in column", "23502")));
+
+            ledgerService.postTransaction(request, transactionObserver);
+
+            ArgumentCaptor<Throwable> errorCaptor = ArgumentCaptor.forClass(Throwable.class);
+            verify(transactionObserver).onError(errorCaptor.capture());
+            assertEquals(Status.Code.INTERNAL,
+                    Status.fromThrowable(errorCaptor.getValue()).getCode());
         }
 
         @Test
@@ -296,10 +884,8 @@ class LedgerServiceImplTest {
                     .setType("TRANSFER")
                     .build();
 
-            when(transactionRepository.findByReferenceId("ref-insufficient")).thenReturn(Optional.empty());
             when(accountRepository.findById(fromAccountId)).thenReturn(Optional.of(fromAccount));
-            when(accountRepository.findById(toAccountId)).thenReturn(Optional.of(toAccount));
-            when(transactionRepository.save(any(Transaction.class))).thenAnswer(i -> {
+            when(transactionRepository.saveAndFlush(any(Transaction.class))).thenAnswer(i -> {
                 Transaction t = i.getArgument(0);
                 if (t.getId() == null)
                     t.setId(UUID.randomUUID());
@@ -329,7 +915,6 @@ class LedgerServiceImplTest {
                     .setType("TRANSFER")
                     .build();
 
-            when(transactionRepository.findByReferenceId("ref-mismatch")).thenReturn(Optional.empty());
             when(accountRepository.findById(fromAccountId)).thenReturn(Optional.of(fromAccount));
 
             ledgerService.postTransaction(request, transactionObserver);
@@ -409,8 +994,6 @@ class LedgerServiceImplTest {
                     .setType("TRANSFER")
                     .build();
 
-            when(transactionRepository.findByReferenceId("ref-same")).thenReturn(Optional.empty());
-            when(accountRepository.findById(fromAccountId)).thenReturn(Optional.of(fromAccount));
 
             ledgerService.postTransaction(request, transactionObserver);
 
@@ -431,9 +1014,7 @@ class LedgerServiceImplTest {
                     .setType("DEPOSIT")
                     .build();
 
-            when(transactionRepository.findByReferenceId("ref-deposit")).thenReturn(Optional.empty());
-            when(accountRepository.findById(toAccountId)).thenReturn(Optional.of(toAccount));
-            when(transactionRepository.save(any(Transaction.class))).thenAnswer(i -> {
+            when(transactionRepository.saveAndFlush(any(Transaction.class))).thenAnswer(i -> {
                 Transaction t = i.getArgument(0);
                 if (t.getId() == null)
                     t.setId(UUID.randomUUID());
@@ -458,9 +1039,7 @@ class LedgerServiceImplTest {
                     .setType("WITHDRAWAL")
                     .build();
 
-            when(transactionRepository.findByReferenceId("ref-withdrawal")).thenReturn(Optional.empty());
-            when(accountRepository.findById(fromAccountId)).thenReturn(Optional.of(fromAccount));
-            when(transactionRepository.save(any(Transaction.class))).thenAnswer(i -> {
+            when(transactionRepository.saveAndFlush(any(Transaction.class))).thenAnswer(i -> {
                 Transaction t = i.getArgument(0);
                 if (t.getId() == null)
                     t.setId(UUID.randomUUID());
@@ -493,4 +1072,464 @@ class LedgerServiceImplTest {
                     Status.fromThrowable(errorCaptor.getValue()).getCode());
         }
     }
+
+    @Nested
+    @DisplayName("PostTransactions Tests")
+    class PostTransactionsTests {
+
+        private PostTransactionRequest transfer(String referenceId, String amount) {
+            return PostTransactionRequest.newBuilder()
+                    .setFromAccountId(fromAccountId.toString())
+                    .setToAccountId(toAccountId.toString())
+                    .setAmount(amount)
+                    .setCurrency("USD")
+                    .setReferenceId(referenceId)
+                    .setType("TRANSFER")
+                    .build();
+        }
+
+        private List<TransactionResponse> captureResults() {
+            ArgumentCaptor<PostTransactionsResponse> captor = ArgumentCaptor.forClass(PostTransactionsResponse.class);
+            verify(batchObserver).onNext(captor.capture());
+            verify(batchObserver).onCompleted();
+            return captor.getValue().getResultsList();
+        }
+
+        @Test
+        @DisplayName("Should apply postings in order and report each item on its own")
+        void postTransactions_MixedResults() {
+            PostTransactionsRequest request = PostTransactionsRequest.newBuilder()
+                    .addTransactions(transfer("batch-1", "600.00"))
+                    .addTransactions(transfer("batch-2", "600.00")) // Only 400 left after batch-1
+                    .addTransactions(transfer("batch-1", "1.00")) // Reuses a reference posted above
+                    .addTransactions(transfer("batch-3", "abc"))
+                    .addTransactions(transfer("batch-4", "100.00"))
+                    .build();
+
+            when(transactionRepository.findExistingReferenceIds(anyCollection())).thenReturn(List.of());
+            when(accountRepository.findAllById(anyCollection())).thenReturn(List.of(fromAccount, toAccount));
+
+            ledgerService.postTransactions(request, batchObserver);
+
+            List<TransactionResponse> results = captureResults();
+            assertEquals(5, results.size());
+            assertEquals("POSTED", results.get(0).getStatus());
+            assertEquals("FAILED_PRECONDITION", results.get(1).getErrorCode());
+            assertEquals("ALREADY_EXISTS", results.get(2).getErrorCode());
+            assertEquals("INVALID_ARGUMENT", results.get(3).getErrorCode());
+            assertEquals("POSTED", results.get(4).getStatus());
+            assertEquals("batch-4", results.get(4).getReferenceId());
+
+            assertEquals(new BigDecimal("300.0000"), fromAccount.getBalance());
+            assertEquals(new BigDecimal("1200.0000"), toAccount.getBalance());
+
+            // All rows go out in one batch per table
+            verify(ledgerJdbcRepository).insertTransactions(argThat(txs -> txs.size() == 2));
+            verify(ledgerJdbcRepository).insertLedgerEntries(argThat(entries -> entries.size() == 4));
+            verify(accountRepository, never()).findById(any());
+            verify(transactionRepository, never()).saveAndFlush(any());
+            verify(transactionManager).getTransaction(
+                    argThat(tx -> tx.getIsolationLevel() == TransactionDefinition.ISOLATION_SERIALIZABLE
+                            && tx.getTimeout() == 30));
+        }
+
+        @Test
+        @DisplayName("Should not hold up a single posting while a batch over many accounts runs")
+        void postTransactions_DoesNotBlockSinglePostings() throws Exception {
+            // Enough accounts to cover every sequencer stripe, were batches sequenced
+            PostTransactionsRequest.Builder batch = PostTransactionsRequest.newBuilder();
+            for (int i = 0; i < 1000; i++) {
+                batch.addTransactions(PostTransactionRequest.newBuilder()
+                        .setToAccountId(UUID.randomUUID().toString())
+                        .setAmount("1.00")
+                        .setCurrency("USD")
+                        .setReferenceId("wide-" + i)
+                        .setType("DEPOSIT")
+                        .build());
+            }
+            CountDownLatch batchRunning = new CountDownLatch(1);
+            CountDownLatch releaseBatch = new CountDownLatch(1);
+            when(transactionRepository.findExistingReferenceIds(anyCollection())).thenReturn(List.of());
+            when(accountRepository.findAllById(anyCollection())).thenAnswer(i -> {
+                batchRunning.countDown();
+                assertTrue(releaseBatch.await(10, TimeUnit.SECONDS));
+                return List.of();
+            });
+            when(transactionRepository.saveAndFlush(any(Transaction.class))).thenAnswer(i -> {
+                Transaction t = i.getArgument(0);
+                t.setId(UUID.randomUUID());
+                return t;
+            });
+
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Future<?> running = executor.submit(() -> ledgerService.postTransactions(batch.build(), batchObserver));
+                assertTrue(batchRunning.await(5, TimeUnit.SECONDS));
+
+                // Runs on this thread; it would hang here if the batch held its stripe
+                ledgerService.postTransaction(PostTransactionRequest.newBuilder()
+                        .setToAccountId(toAccountId.toString())
+                        .setAmount("25.00")
+                        .setCurrency("USD")
+                        .setReferenceId("single-during-batch")
+                        .setType("DEPOSIT")
+                        .build(), transactionObserver);
+                verify(transactionObserver).onCompleted();
+                assertEquals(new BigDecimal("525.0000"), toAccount.getBalance());
+
+                releaseBatch.countDown();
+                running.get(5, TimeUnit.SECONDS);
+                assertEquals(1000, captureResults().size());
+            } finally {
+                releaseBatch.countDown();
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Should report already used reference IDs as ALREADY_EXISTS")
+        void postTransactions_ExistingReference() {
+            PostTransactionsRequest request = PostTransactionsRequest.newBuilder()
+                    .addTransactions(transfer("batch-existing", "10.00"))
+                    .build();
+
+            when(transactionRepository.findExistingReferenceIds(anyCollection()))
+                    .thenReturn(List.of("batch-existing"));
+            when(accountRepository.findAllById(anyCollection())).thenReturn(List.of(fromAccount, toAccount));
+
+            ledgerService.postTransactions(request, batchObserver);
+
+            List<TransactionResponse> results = captureResults();
+            assertEquals("FAILED", results.get(0).getStatus());
+            assertEquals("ALREADY_EXISTS", results.get(0).getErrorCode());
+            verify(ledgerJdbcRepository).insertTransactions(anyList());
+            assertEquals(new BigDecimal("1000.0000"), fromAccount.getBalance());
+        }
+
+        @Test
+        @DisplayName("Should skip the reference lookup when the filter knows every key is new")
+        void postTransactions_FilterSkipsLookup() {
+            referenceFilter.load(LocalDateTime.now());
+            PostTransactionsRequest request = PostTransactionsRequest.newBuilder()
+                    .addTransactions(transfer("batch-new", "10.00"))
+                    .build();
+
+            when(accountRepository.findAllById(anyCollection())).thenReturn(List.of(fromAccount, toAccount));
+
+            ledgerService.postTransactions(request, batchObserver);
+
+            assertEquals("POSTED", captureResults().get(0).getStatus());
+            verify(transactionRepository, never()).findExistingReferenceIds(anyCollection());
+        }
+
+        @Test
+        @DisplayName("Should retry with a lookup when a key the filter missed was already claimed")
+        void postTransactions_FilterMissFallsBackToLookup() {
+            referenceFilter.load(LocalDateTime.now());
+            PostTransactionsRequest request = PostTransactionsRequest.newBuilder()
+                    .addTransactions(transfer("batch-elsewhere", "10.00"))
+                    .build();
+
+            when(accountRepository.findAllById(anyCollection())).thenReturn(List.of(fromAccount, toAccount));
+            doThrow(new DuplicateKeyException("duplicate key",
+                    new SQLException("duplicate key value violates unique constraint", "23505")))
+                    .doNothing()
+                    .when(ledgerJdbcRepository).insertTransactions(anyList());
+            when(transactionRepository.findExistingReferenceIds(anyCollection()))
+                    .thenReturn(List.of("batch-elsewhere"));
+
+            ledgerService.postTransactions(request, batchObserver);
+
+            assertEquals("ALREADY_EXISTS", captureResults().get(0).getErrorCode());
+            verify(transactionRepository).findExistingReferenceIds(argThat(ids -> ids.contains("batch-elsewhere")));
+        }
+
+        @Test
+        @DisplayName("Should report the commit LSN on posted items only")
+        void postTransactions_CommitLsn() {
+            when(replicaLagMonitor.isEnabled()).thenReturn(true);
+            when(ledgerJdbcRepository.currentWalInsertLsn()).thenReturn("0/16B3748");
+            when(transactionRepository.findExistingReferenceIds(anyCollection())).thenReturn(List.of());
+            when(accountRepository.findAllById(anyCollection())).thenReturn(List.of(fromAccount, toAccount));
+
+            ledgerService.postTransactions(PostTransactionsRequest.newBuilder()
+                    .addTransactions(transfer("batch-lsn-1", "100.00"))
+                    .addTransactions(transfer("batch-lsn-2", "5000.00"))
+                    .build(), batchObserver);
+
+            List<TransactionResponse> results = captureResults();
+            assertEquals("0/16B3748", results.get(0).getCommitLsn());
+            assertEquals("FAILED_PRECONDITION", results.get(1).getErrorCode());
+            assertTrue(results.get(1).getCommitLsn().isEmpty());
+            verify(ledgerJdbcRepository, times(1)).currentWalInsertLsn();
+        }
+
+        @Test
+        @DisplayName("Should lock the accounts and run at read committed in locking mode")
+        void postBatch_LockingMode() {
+            PostingService lockingPostingService = new PostingService(accountRepository, transactionRepository,
+                    ledgerJdbcRepository, eventPublisher, balanceCache, referenceFilter, transactionManager,
+                    PostingMode.LOCKING, replicaLagMonitor, Duration.ofSeconds(30));
+
+            when(transactionRepository.findExistingReferenceIds(anyCollection())).thenReturn(List.of());
+            when(accountRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(fromAccount, toAccount));
+
+            List<TransactionResponse> results = lockingPostingService.postBatch(
+                    List.of(transfer("batch-locked", "10.00")));
+
+            assertEquals("POSTED", results.get(0).getStatus());
+            assertEquals(new BigDecimal("990.0000"), fromAccount.getBalance());
+            verify(accountRepository).findAllByIdForUpdate(argThat(ids -> ids.containsAll(List.of(fromAccountId,
+                    toAccountId))));
+            verify(accountRepository, never()).findAllById(any());
+            verify(transactionManager).getTransaction(
+                    argThat(tx -> tx.getIsolationLevel() == TransactionDefinition.ISOLATION_READ_COMMITTED));
+        }
+
+        @Test
+        @DisplayName("Should report unknown accounts per item")
+        void postTransactions_UnknownAccount() {
+            PostTransactionsRequest request = PostTransactionsRequest.newBuilder()
+                    .addTransactions(transfer("batch-unknown", "10.00"))
+                    .build();
+
+            when(transactionRepository.findExistingReferenceIds(anyCollection())).thenReturn(List.of());
+            when(accountRepository.findAllById(anyCollection())).thenReturn(List.of(toAccount));
+
+            ledgerService.postTransactions(request, batchObserver);
+
+            List<TransactionResponse> results = captureResults();
+            assertEquals("NOT_FOUND", results.get(0).getErrorCode());
+            verify(transactionFailureCounter).increment(1);
+        }
+
+        @Test
+        @DisplayName("Should reject an empty batch")
+        void postTransactions_EmptyBatch() {
+            ledgerService.postTransactions(PostTransactionsRequest.getDefaultInstance(), batchObserver);
+
+            ArgumentCaptor<Throwable> errorCaptor = ArgumentCaptor.forClass(Throwable.class);
+            verify(batchObserver).onError(errorCaptor.capture());
+            assertEquals(Status.Code.INVALID_ARGUMENT,
+                    Status.fromThrowable(errorCaptor.getValue()).getCode());
+        }
+    }
+
+    @Nested
+    @DisplayName("StreamTransactions Tests")
+    class StreamTransactionsTests {
+
+        @Mock
+        private StreamObserver<TransactionResponse> streamObserver;
+
+        @BeforeEach
+        void startCommitter() {
+            groupCommitPoster.start();
+        }
+
+        @AfterEach
+        void stopCommitter() {
+            groupCommitPoster.stop();
+        }
+
+        @Test
+        @DisplayName("Should commit postings from one window together and ack each in order")
+        void streamTransactions_GroupCommit() {
+            when(transactionRepository.findExistingReferenceIds(anyCollection())).thenReturn(List.of());
+            when(accountRepository.findAllById(anyCollection())).thenReturn(List.of(fromAccount, toAccount));
+
+            StreamObserver<PostTransactionRequest> requests = ledgerService.streamTransactions(streamObserver);
+            for (int i = 0; i < 3; i++) {
+                requests.onNext(PostTransactionRequest.newBuilder()
+                        .setFromAccountId(fromAccountId.toString())
+                        .setToAccountId(toAccountId.toString())
+                        .setAmount("100.00")
+                        .setCurrency("USD")
+                        .setReferenceId("stream-" + i)
+                        .setType("TRANSFER")
+                        .build());
+            }
+            requests.onCompleted();
+
+            verify(streamObserver, timeout(2000)).onCompleted();
+            ArgumentCaptor<TransactionResponse> captor = ArgumentCaptor.forClass(TransactionResponse.class);
+            verify(streamObserver, times(3)).onNext(captor.capture());
+            assertEquals(List.of("stream-0", "stream-1", "stream-2"),
+                    captor.getAllValues().stream().map(TransactionResponse::getReferenceId).toList());
+            assertTrue(captor.getAllValues().stream().allMatch(r -> r.getStatus().equals("POSTED")));
+
+            // All three postings arrived within one window and share one commit
+            verify(ledgerJdbcRepository).insertTransactions(argThat(txs -> txs.size() == 3));
+            assertEquals(new BigDecimal("700.0000"), fromAccount.getBalance());
+        }
+
+        @Test
+        @DisplayName("Should ack invalid postings without failing the stream")
+        void streamTransactions_InvalidPosting() {
+            StreamObserver<PostTransactionRequest> requests = ledgerService.streamTransactions(streamObserver);
+            requests.onNext(PostTransactionRequest.newBuilder()
+                    .setToAccountId(toAccountId.toString())
+                    .setAmount("-5")
+                    .setCurrency("USD")
+                    .setReferenceId("stream-invalid")
+                    .setType("DEPOSIT")
+                    .build());
+            requests.onCompleted();
+
+            verify(streamObserver, timeout(2000)).onCompleted();
+            ArgumentCaptor<TransactionResponse> captor = ArgumentCaptor.forClass(TransactionResponse.class);
+            verify(streamObserver).onNext(captor.capture());
+            assertEquals("INVALID_ARGUMENT", captor.getValue().getErrorCode());
+            verify(streamObserver, never()).onError(any());
+        }
+
+        @Test
+        @DisplayName("Should fail the stream with UNAVAILABLE when group commit has stopped")
+        void streamTransactions_Stopped() {
+            groupCommitPoster.stop();
+
+            StreamObserver<PostTransactionRequest> requests = ledgerService.streamTransactions(streamObserver);
+            requests.onNext(PostTransactionRequest.newBuilder()
+                    .setFromAccountId(fromAccountId.toString())
+                    .setToAccountId(toAccountId.toString())
+                    .setAmount("100.00")
+                    .setCurrency("USD")
+                    .setReferenceId("stream-stopped")
+                    .setType("TRANSFER")
+                    .build());
+            requests.onCompleted();
+
+            ArgumentCaptor<Throwable> captor = ArgumentCaptor.forClass(Throwable.class);
+            verify(streamObserver).onError(captor.capture());
+            assertEquals(Status.Code.UNAVAILABLE, Status.fromThrowable(captor.getValue()).getCode());
+            verify(streamObserver, never()).onNext(any());
+            verify(streamObserver, never()).onCompleted();
+        }
+    }
+
+    @Nested
+    @DisplayName("GetTransactionHistory Tests")
+    class GetTransactionHistoryTests {
+
+        @Mock
+        private StreamObserver<TransactionHistoryResponse> historyObserver;
+
+        @Test
+        @DisplayName("Should return a next cursor pointing at the last entry of a full page")
+        void getTransactionHistory_FullPageHasCursor() {
+            List<LedgerHistoryRow> entries = List.of(historyEntry(LocalDateTime.of(2024, 1, 2, 0, 0)),
+                    historyEntry(LocalDateTime.of(2024, 1, 1, 0, 0)));
+            when(reactiveLedgerEntryRepository.findHistoryPage(toAccountId, 0, 2))
+                    .thenReturn(Flux.fromIterable(entries));
+
+            ledgerService.getTransactionHistory(GetHistoryRequest.newBuilder()
+                    .setAccountId(toAccountId.toString())
+                    .setSize(2)
+                    .build(), historyObserver);
+
+            ArgumentCaptor<TransactionHistoryResponse> captor = ArgumentCaptor.forClass(TransactionHistoryResponse.class);
+            verify(historyObserver).onNext(captor.capture());
+            assertEquals(2, captor.getValue().getTransactionsCount());
+            LedgerHistoryRow last = entries.get(1);
+            assertEquals(new HistoryCursor(last.createdAt(), last.entryId()),
+                    HistoryCursor.decode(captor.getValue().getNextCursor()));
+        }
+
+        @Test
+        @DisplayName("Should continue after the cursor with a keyset query")
+        void getTransactionHistory_WithCursor() {
+            HistoryCursor cursor = new HistoryCursor(LocalDateTime.of(2024, 1, 1, 0, 0), UUID.randomUUID());
+            when(reactiveLedgerEntryRepository.findHistoryPageBefore(eq(toAccountId), eq(cursor.createdAt()),
+                    eq(cursor.entryId()), eq(2)))
+                    .thenReturn(Flux.just(historyEntry(LocalDateTime.of(2023, 12, 31, 0, 0))));
+
+            ledgerService.getTransactionHistory(GetHistoryRequest.newBuilder()
+                    .setAccountId(toAccountId.toString())
+                    .setSize(2)
+                    .setCursor(cursor.encode())
+                    .build(), historyObserver);
+
+            ArgumentCaptor<TransactionHistoryResponse> captor = ArgumentCaptor.forClass(TransactionHistoryResponse.class);
+            verify(historyObserver).onNext(captor.capture());
+            assertEquals(1, captor.getValue().getTransactionsCount());
+            assertTrue(captor.getValue().getNextCursor().isEmpty());
+            verify(reactiveLedgerEntryRepository, never()).findHistoryPage(any(), anyLong(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed cursor")
+        void getTransactionHistory_InvalidCursor() {
+            ledgerService.getTransactionHistory(GetHistoryRequest.newBuilder()
+                    .setAccountId(toAccountId.toString())
+                    .setCursor("garbage")
+                    .build(), historyObserver);
+
+            ArgumentCaptor<Throwable> errorCaptor = ArgumentCaptor.forClass(Throwable.class);
+            verify(historyObserver).onError(errorCaptor.capture());
+            assertEquals(Status.Code.INVALID_ARGUMENT, Status.fromThrowable(errorCaptor.getValue()).getCode());
+        }
+
+        @Test
+        @DisplayName("Should read the page where the monitor routes it")
+        void getTransactionHistory_RoutedRead() {
+            List<ContextView> contexts = new ArrayList<>();
+            when(replicaLagMonitor.route(null)).thenReturn("replica-1");
+            when(reactiveLedgerEntryRepository.findHistoryPage(toAccountId, 0, 2))
+                    .thenReturn(Flux.deferContextual(context -> {
+                        contexts.add(context);
+                        return Flux.just(historyEntry(LocalDateTime.of(2024, 1, 1, 0, 0)));
+                    }));
+
+            ledgerService.getTransactionHistory(GetHistoryRequest.newBuilder()
+                    .setAccountId(toAccountId.toString())
+                    .setSize(2)
+                    .build(), historyObserver);
+
+            verify(historyObserver).onNext(any(TransactionHistoryResponse.class));
+            assertEquals(ReadRoutingConnectionFactory.onReplica("replica-1").stream().toList(),
+                    contexts.get(0).stream().toList());
+        }
+
+        private LedgerHistoryRow historyEntry(LocalDateTime createdAt) {
+            return new LedgerHistoryRow(UUID.randomUUID(), toAccountId, UUID.randomUUID(), "ref-" + createdAt,
+                    Transaction.TransactionType.DEPOSIT, Transaction.TransactionStatus.POSTED,
+                    new BigDecimal("10.0000"), LedgerEntry.EntryDirection.CREDIT, new BigDecimal("510.0000"),
+                    createdAt);
+        }
+    }
+
+    @Nested
+    @DisplayName("StreamTransactionHistory Tests")
+    class StreamTransactionHistoryTests {
+
+        @Mock
+        private ServerCallStreamObserver<TransactionSummary> exportObserver;
+
+        @Test
+        @DisplayName("Should stream an account's history from the database cursor")
+        void streamTransactionHistory_Account() {
+            when(ledgerJdbcRepository.streamHistory(eq(toAccountId), isNull(), isNull(), anyInt(), any()))
+                    .thenReturn(0L);
+
+            ledgerService.streamTransactionHistory(StreamHistoryRequest.newBuilder()
+                    .setAccountId(toAccountId.toString())
+                    .build(), exportObserver);
+
+            verify(exportObserver, timeout(2000)).onCompleted();
+            verify(exportObserver, never()).onError(any());
+        }
+
+        @Test
+        @DisplayName("Should require an account or a bounded time range")
+        void streamTransactionHistory_Unbounded() {
+            ledgerService.streamTransactionHistory(StreamHistoryRequest.newBuilder()
+                    .setFrom("2024-01-01T00:00:00")
+                    .build(), exportObserver);
+
+            ArgumentCaptor<Throwable> errorCaptor = ArgumentCaptor.forClass(Throwable.class);
+            verify(exportObserver).onError(errorCaptor.capture());
+            assertEquals(Status.Code.INVALID_ARGUMENT, Status.fromThrowable(errorCaptor.getValue()).getCode());
+            verifyNoInteractions(ledgerJdbcRepository);
+        }
+    }
 }
@@ -0,0 +1,164 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.domain.event.OutboxEvent;
+import com.banking.ledger.domain.event.TransactionFailedEvent;
+import com.banking.ledger.domain.repository.OutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxRelay Unit Tests")
+class OutboxRelayTest {
+
+    private static final String TOPIC = "banking.transaction.failed";
+
+    @Mock
+    private OutboxRepository outboxRepository;
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private OutboxRepository.RelayLock relayLock;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(outboxRepository, kafkaTemplate, new ObjectMapper(), transactionManager,
+                100, Duration.ofMillis(10), Duration.ofSeconds(1), Duration.ofHours(1),
+                registry.counter("relayed"), registry.counter("failures"));
+    }
+
+    @Test
+    @DisplayName("Should publish events in order and mark them all as sent")
+    void relayBatch_PublishesInOrder() {
+        when(outboxRepository.tryLockRelay()).thenReturn(Optional.of(relayLock));
+        when(outboxRepository.findUnsent(100)).thenReturn(List.of(event(1), event(2), event(3)));
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertEquals(3, relay.relayBatch());
+
+        InOrder inOrder = inOrder(kafkaTemplate);
+        for (int i = 1; i <= 3; i++) {
+            inOrder.verify(kafkaTemplate).send(TOPIC, "ref-" + i, new TransactionFailedEvent("ref-" + i, "reason"));
+        }
+        verify(outboxRepository).markSent(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    @DisplayName("Should wait for acks outside any transaction and mark them sent in a short one")
+    void relayBatch_NoTransactionWhilePublishing() {
+        when(outboxRepository.tryLockRelay()).thenReturn(Optional.of(relayLock));
+        when(outboxRepository.findUnsent(100)).thenReturn(List.of(event(1)));
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relayBatch();
+
+        InOrder inOrder = inOrder(outboxRepository, kafkaTemplate, transactionManager);
+        inOrder.verify(outboxRepository).findUnsent(100);
+        inOrder.verify(kafkaTemplate).send(anyString(), anyString(), any());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(outboxRepository).markSent(List.of(1L));
+        inOrder.verify(transactionManager).commit(any());
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    @Test
+    @DisplayName("Should keep the relay lock across rounds and take it again once its session is gone")
+    void relayBatch_KeepsLockAcrossRounds() {
+        OutboxRepository.RelayLock retaken = mock(OutboxRepository.RelayLock.class);
+        when(outboxRepository.tryLockRelay()).thenReturn(Optional.of(relayLock), Optional.of(retaken));
+        when(outboxRepository.findUnsent(100)).thenReturn(List.of());
+        when(relayLock.isHeld()).thenReturn(true, false);
+
+        relay.relayBatch();
+        relay.relayBatch();
+        verify(outboxRepository, times(1)).tryLockRelay();
+
+        relay.relayBatch();
+        verify(relayLock).close();
+        verify(outboxRepository, times(2)).tryLockRelay();
+    }
+
+    @Test
+    @DisplayName("Should only mark events up to the first failed send")
+    void relayBatch_StopsAtFirstFailure() {
+        when(outboxRepository.tryLockRelay()).thenReturn(Optional.of(relayLock));
+        when(outboxRepository.findUnsent(100)).thenReturn(List.of(event(1), event(2), event(3)));
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertEquals(1, relay.relayBatch());
+
+        verify(outboxRepository).markSent(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Should do nothing while another node holds the relay lock")
+    void relayBatch_LockHeldElsewhere() {
+        when(outboxRepository.tryLockRelay()).thenReturn(Optional.empty());
+
+        assertEquals(0, relay.relayBatch());
+
+        verify(outboxRepository, never()).findUnsent(anyInt());
+        verify(outboxRepository, never()).markSent(anyList());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    @DisplayName("Should purge published events only on the node holding the relay lock")
+    void purge_OnlyWithRelayLock() {
+        when(outboxRepository.tryLockRelay()).thenReturn(Optional.empty(), Optional.of(relayLock));
+
+        relay.purge();
+        verify(outboxRepository, never()).deleteSentBefore(any());
+
+        relay.purge();
+        verify(outboxRepository).deleteSentBefore(any());
+    }
+
+    @Test
+    @DisplayName("Should skip events of an unknown type instead of blocking the outbox")
+    void relayBatch_SkipsUnknownType() {
+        when(outboxRepository.tryLockRelay()).thenReturn(Optional.of(relayLock));
+        when(outboxRepository.findUnsent(100)).thenReturn(List.of(
+                new OutboxEvent(1L, TOPIC, "ref-1", "RetiredEvent", "{}"), event(2)));
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertEquals(2, relay.relayBatch());
+
+        verify(kafkaTemplate, times(1)).send(anyString(), anyString(), any());
+        verify(outboxRepository).markSent(List.of(1L, 2L));
+    }
+
+    private static OutboxEvent event(long id) {
+        return new OutboxEvent(id, TOPIC, "ref-" + id, "TransactionFailedEvent",
+                "{\"referenceId\":\"ref-" + id + "\",\"reason\":\"reason\"}");
+    }
+}
@@ -0,0 +1,71 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.domain.event.OutboxEvent;
+import com.banking.ledger.domain.event.TransactionFailedEvent;
+import com.banking.ledger.domain.repository.OutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxWriter Unit Tests")
+class OutboxWriterTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should insert immediately outside a transaction")
+    void append_NoTransaction() {
+        OutboxWriter writer = new OutboxWriter(outboxRepository, new ObjectMapper());
+
+        writer.append("topic", "ref-1", new TransactionFailedEvent("ref-1", "Insufficient funds"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OutboxEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository).insert(captor.capture());
+        OutboxEvent event = captor.getValue().get(0);
+        assertEquals("TransactionFailedEvent", event.eventType());
+        assertEquals("{\"referenceId\":\"ref-1\",\"reason\":\"Insufficient funds\"}", event.payload());
+    }
+
+    @Test
+    @DisplayName("Should write all events of a transaction as one batch before commit")
+    void append_BatchesWithinTransaction() {
+        OutboxWriter writer = new OutboxWriter(outboxRepository, new ObjectMapper());
+        TransactionSynchronizationManager.initSynchronization();
+
+        writer.append("topic", "ref-1", new TransactionFailedEvent("ref-1", "a"));
+        writer.append("topic", "ref-2", new TransactionFailedEvent("ref-2", "b"));
+        verify(outboxRepository, never()).insert(anyList());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+        synchronizations.forEach(s -> s.beforeCommit(false));
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        verify(outboxRepository).insert(argThat(events -> events.size() == 2
+                && events.get(0).key().equals("ref-1") && events.get(1).key().equals("ref-2")));
+        assertFalse(TransactionSynchronizationManager.hasResource(writer));
+    }
+}
@@ -0,0 +1,128 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.domain.repository.BalanceCheckpointRepository;
+import com.banking.ledger.domain.repository.PartitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PartitionMaintenance Unit Tests")
+class PartitionMaintenanceTest {
+
+    private static final YearMonth CURRENT = YearMonth.of(2026, 10);
+
+    @Mock
+    private PartitionRepository partitionRepository;
+    @Mock
+    private BalanceCheckpointRepository checkpointRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    @DisplayName("Should create the current and upcoming months for both tables")
+    void maintain_CreatesUpcomingPartitions() {
+        when(partitionRepository.tryLockMaintenance()).thenReturn(true);
+
+        assertTrue(maintenance(2, 0).maintain(CURRENT));
+
+        for (String table : PartitionMaintenance.PARTITIONED_TABLES) {
+            verify(partitionRepository).createMonthlyPartition(table, YearMonth.of(2026, 10));
+            verify(partitionRepository).createMonthlyPartition(table, YearMonth.of(2026, 11));
+            verify(partitionRepository).createMonthlyPartition(table, YearMonth.of(2026, 12));
+        }
+        verify(partitionRepository, never()).findPartitions(anyString());
+    }
+
+    @Test
+    @DisplayName("Should detach only partitions entirely older than the retention")
+    void maintain_DetachesExpiredPartitions() {
+        when(partitionRepository.tryLockMaintenance()).thenReturn(true);
+        when(checkpointRepository.findCheckpointedThrough()).thenReturn(Instant.parse("2026-10-18T08:00:00Z"));
+        when(partitionRepository.findPartitions(anyString())).thenReturn(List.of());
+        when(partitionRepository.findPartitions("ledger_entries")).thenReturn(List.of(
+                "ledger_entries_p2026_03", "ledger_entries_p2026_04", "ledger_entries_p2026_05",
+                "ledger_entries_archive"));
+
+        maintenance(0, 6).maintain(CURRENT);
+
+        verify(partitionRepository).detachPartition("ledger_entries", "ledger_entries_p2026_03");
+        verify(partitionRepository, times(1)).detachPartition(anyString(), anyString());
+        verify(checkpointRepository).raiseAsOfHorizon(Instant.parse("2026-04-01T00:00:00Z"));
+    }
+
+    @Test
+    @DisplayName("Should keep months after the latest balance checkpoint round attached")
+    void maintain_KeepsUncheckpointedPartitions() {
+        when(partitionRepository.tryLockMaintenance()).thenReturn(true);
+        // Entries from March on are still replayed by as-of balances
+        when(checkpointRepository.findCheckpointedThrough()).thenReturn(Instant.parse("2026-03-01T00:00:00Z"));
+        when(partitionRepository.findPartitions(anyString())).thenReturn(List.of());
+        when(partitionRepository.findPartitions("transactions")).thenReturn(List.of(
+                "transactions_p2026_01", "transactions_p2026_02", "transactions_p2026_03"));
+
+        maintenance(0, 6).maintain(CURRENT);
+
+        verify(partitionRepository).detachPartition("transactions", "transactions_p2026_01");
+        verify(partitionRepository).detachPartition("transactions", "transactions_p2026_02");
+        verify(partitionRepository, times(2)).detachPartition(anyString(), anyString());
+        // No entries were detached
+        verify(checkpointRepository, never()).raiseAsOfHorizon(any());
+    }
+
+    @Test
+    @DisplayName("Should detach nothing before the first balance checkpoint round")
+    void maintain_NoCheckpointsYet() {
+        when(partitionRepository.tryLockMaintenance()).thenReturn(true);
+
+        assertTrue(maintenance(0, 6).maintain(CURRENT));
+
+        verify(partitionRepository, never()).findPartitions(anyString());
+        verify(partitionRepository, never()).detachPartition(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should do nothing while another node holds the lock")
+    void maintain_LockHeldElsewhere() {
+        when(partitionRepository.tryLockMaintenance()).thenReturn(false);
+
+        assertFalse(maintenance(3, 6).maintain(CURRENT));
+
+        verify(partitionRepository, never()).createMonthlyPartition(anyString(), any());
+        verify(partitionRepository, never()).detachPartition(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should parse months only from partitions it names")
+    void monthOf_ParsesOwnNames() {
+        assertEquals(YearMonth.of(2024, 1), PartitionMaintenance.monthOf("transactions", "transactions_p2024_01"));
+        assertNull(PartitionMaintenance.monthOf("transactions", "transactions_legacy"));
+        assertNull(PartitionMaintenance.monthOf("transactions", "ledger_entries_p2024_01"));
+    }
+
+    private PartitionMaintenance maintenance(int premakeMonths, int retentionMonths) {
+        return new PartitionMaintenance(partitionRepository, checkpointRepository, transactionManager, true,
+                Duration.ofHours(1),
+                premakeMonths, retentionMonths);
+    }
+}
@@ -0,0 +1,129 @@
+package com.banking.ledger.service;
+
+import com.banking.ledger.domain.repository.LedgerJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReferenceFilter Unit Tests")
+class ReferenceFilterTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Mock
+    private LedgerJdbcRepository ledgerJdbcRepository;
+
+    private Counter negatives;
+    private Counter falsePositives;
+    private ReferenceFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        negatives = registry.counter("negative");
+        falsePositives = registry.counter("false-positive");
+        // Four one-hour generations
+        filter = new ReferenceFilter(ledgerJdbcRepository, true, Duration.ofHours(4), 4, 10_000, 0.001, 100,
+                negatives, falsePositives);
+    }
+
+    @Test
+    @DisplayName("Should suspect every key until loaded")
+    void suspects_NotLoaded() {
+        filter.putAll(List.of("ref-1"));
+
+        assertEquals(Set.of("ref-1", "ref-2"), filter.suspects(List.of("ref-1", "ref-2")));
+        filter.recordFalsePositives(1);
+        assertEquals(0, negatives.count());
+        assertEquals(0, falsePositives.count());
+    }
+
+    @Test
+    @DisplayName("Should only suspect keys that were claimed")
+    void suspects_Loaded() {
+        loadKeys();
+        filter.putAll(List.of("ref-new"));
+
+        assertEquals(Set.of("ref-recent", "ref-new"), filter.suspects(List.of("ref-recent", "ref-new", "ref-free")));
+        assertEquals(1, negatives.count());
+
+        filter.recordFalsePositives(2);
+        assertEquals(2, falsePositives.count());
+    }
+
+    @Test
+    @DisplayName("Should count false positives only once their transaction commits")
+    void recordFalsePositives_AfterCommit() {
+        loadKeys();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            filter.recordFalsePositives(2);
+            assertEquals(0, falsePositives.count());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(2, falsePositives.count());
+
+        // A rolled-back attempt counts nothing
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            filter.recordFalsePositives(3);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(2, falsePositives.count());
+    }
+
+    @Test
+    @DisplayName("Should forget keys once their generation rotates out")
+    void rotate_DropsOldestGeneration() {
+        loadKeys(); // ref-recent is 10 minutes old, ref-old three and a half hours
+
+        filter.rotate();
+        assertEquals(Set.of("ref-recent"), filter.suspects(List.of("ref-recent", "ref-old")));
+
+        filter.rotate();
+        filter.rotate();
+        filter.rotate();
+        assertTrue(filter.suspects(List.of("ref-recent")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject a filter without generations")
+    void constructor_NoGenerations() {
+        assertThrows(IllegalArgumentException.class, () -> new ReferenceFilter(ledgerJdbcRepository, true,
+                Duration.ofHours(4), 0, 10_000, 0.001, 100, negatives, falsePositives));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void loadKeys() {
+        when(ledgerJdbcRepository.streamReferenceIds(any(), anyInt(), any())).thenAnswer(invocation -> {
+            BiConsumer<String, LocalDateTime> sink = invocation.getArgument(2);
+            sink.accept("ref-recent", NOW.minusMinutes(10));
+            sink.accept("ref-old", NOW.minusMinutes(210));
+            return 2L;
+        });
+        assertEquals(2, filter.load(NOW));
+    }
+}
@@ -0,0 +1,94 @@
+package com.banking.ledger.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.orm.jpa.JpaSystemException;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TransientFailureRetrier Unit Tests")
+class TransientFailureRetrierTest {
+
+    private Counter attempts;
+    private Counter recovered;
+    private Counter exhausted;
+    private TransientFailureRetrier retrier;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        attempts = registry.counter("attempts");
+        recovered = registry.counter("recovered");
+        exhausted = registry.counter("exhausted");
+        retrier = new TransientFailureRetrier(3, Duration.ofMillis(1), Duration.ofMillis(2),
+                attempts, recovered, exhausted);
+    }
+
+    @Test
+    @DisplayName("Should retry optimistic lock failures until the work succeeds")
+    void execute_RecoversFromOptimisticLock() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = retrier.execute(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("Account", "id");
+            }
+            return "posted";
+        });
+
+        assertEquals("posted", result);
+        assertEquals(3, calls.get());
+        assertEquals(2, attempts.count());
+        assertEquals(1, recovered.count());
+        assertEquals(0, exhausted.count());
+    }
+
+    @Test
+    @DisplayName("Should give up once the attempt budget is spent")
+    void execute_Exhausted() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(CannotAcquireLockException.class, () -> retrier.execute(() -> {
+            calls.incrementAndGet();
+            throw new CannotAcquireLockException("could not serialize access");
+        }));
+
+        assertEquals(3, calls.get());
+        assertEquals(1, exhausted.count());
+        assertEquals(0, recovered.count());
+    }
+
+    @Test
+    @DisplayName("Should not retry non-transient failures")
+    void execute_NonTransient() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> retrier.execute(() -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(1, calls.get());
+        assertEquals(0, attempts.count());
+    }
+
+    @Test
+    @DisplayName("Should recognise PostgreSQL serialization and deadlock SQL states in the cause chain")
+    void isTransient_SqlStates() {
+        assertTrue(TransientFailureRetrier.isTransient(
+                new JpaSystemException(new RuntimeException(new SQLException("serialize", "40001")))));
+        assertTrue(TransientFailureRetrier.isTransient(
+                new JpaSystemException(new RuntimeException(new SQLException("deadlock", "40P01")))));
+        assertFalse(TransientFailureRetrier.isTransient(
+                new JpaSystemException(new RuntimeException(new SQLException("unique", "23505")))));
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -185,6 +186,63 @@ class InputValidatorTest {
         }
     }
 
+    @Nested
+    @DisplayName("Batch Size Validation")
+    class BatchSizeValidationTests {
+
+        @ParameterizedTest
+        @ValueSource(ints = { 1, 500, 1000 })
+        @DisplayName("Should accept batch sizes within limit")
+        void validateBatchSize_Valid(int size) {
+            assertDoesNotThrow(() -> InputValidator.validateBatchSize(size));
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = { 0, -1, 1001 })
+        @DisplayName("Should reject empty or oversized batches")
+        void validateBatchSize_Invalid(int size) {
+            assertThrows(InvalidInputException.class,
+                    () -> InputValidator.validateBatchSize(size));
+        }
+    }
+
+    @Nested
+    @DisplayName("Time Range Validation")
+    class TimeRangeValidationTests {
+
+        @Test
+        @DisplayName("Should parse ISO-8601 local date-times")
+        void validateOptionalTimestamp_Valid() {
+            assertEquals(LocalDateTime.of(2024, 1, 31, 23, 59, 30),
+                    InputValidator.validateOptionalTimestamp("2024-01-31T23:59:30", "from"));
+        }
+
+        @ParameterizedTest
+        @NullAndEmptySource
+        @DisplayName("Should treat a missing timestamp as unbounded")
+        void validateOptionalTimestamp_Missing(String input) {
+            assertNull(InputValidator.validateOptionalTimestamp(input, "from"));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = { "yesterday", "2024-13-01T00:00", "2024-01-01" })
+        @DisplayName("Should reject malformed timestamps")
+        void validateOptionalTimestamp_Invalid(String input) {
+            assertThrows(InvalidInputException.class,
+                    () -> InputValidator.validateOptionalTimestamp(input, "from"));
+        }
+
+        @Test
+        @DisplayName("Should reject empty or inverted ranges")
+        void validateTimeRange_Invalid() {
+            LocalDateTime now = LocalDateTime.now();
+            assertThrows(InvalidInputException.class, () -> InputValidator.validateTimeRange(now, now));
+            assertThrows(InvalidInputException.class,
+                    () -> InputValidator.validateTimeRange(now, now.minusSeconds(1)));
+            assertDoesNotThrow(() -> InputValidator.validateTimeRange(now, null));
+        }
+    }
+
     @Nested
     @DisplayName("Metadata Sanitization")
     class MetadataSanitizationTests {